@@ -0,0 +1,35 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Чтение всех ответов FAQ через page object: по одному пункту против пакетного скрипта
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class AccordionBenchmark {
+    private static final int ITEMS = 8;
+
+    @Benchmark
+    public void perItem(SiteState site, Blackhole blackhole) {
+        for (int i = 0; i < ITEMS; i++) {
+            site.mainPage.clickAccordionItem(i);
+            blackhole.consume(site.mainPage.getAccordionAnswerText(i));
+        }
+    }
+
+    @Benchmark
+    public Object bulkScript(SiteState site) {
+        return site.mainPage.readAccordionItems();
+    }
+}
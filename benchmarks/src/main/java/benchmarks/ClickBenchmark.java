@@ -0,0 +1,54 @@
+package benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Варианты OrderPage.scrollAndClick: прокрутка + нативный клик против прокрутки + клика скриптом
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClickBenchmark {
+    private static final String SCROLL_SCRIPT =
+            "arguments[0].scrollIntoView({block: 'center', inline: 'center'});";
+
+    private WebElement heading;
+
+    @Setup(Level.Trial)
+    public void findHeading(SiteState site) {
+        heading = site.driver.findElement(By.id("accordion__heading-5"));
+    }
+
+    @Benchmark
+    public void scrollAndNativeClick(SiteState site) {
+        ((JavascriptExecutor) site.driver).executeScript(SCROLL_SCRIPT, heading);
+        heading.click();
+    }
+
+    @Benchmark
+    public void scrollAndJsClick(SiteState site) {
+        ((JavascriptExecutor) site.driver).executeScript(SCROLL_SCRIPT, heading);
+        ((JavascriptExecutor) site.driver).executeScript("arguments[0].click();", heading);
+    }
+
+    @Benchmark
+    public void scrollAndClickInOneScript(SiteState site) {
+        ((JavascriptExecutor) site.driver).executeScript(SCROLL_SCRIPT + "arguments[0].click();", heading);
+    }
+}
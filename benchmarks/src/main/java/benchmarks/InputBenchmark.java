@@ -0,0 +1,57 @@
+package benchmarks;
+
+import config.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Ввод в поле формы заказа: clear()+sendKeys() как в OrderPage.setInputValue против скриптового setter + событий
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InputBenchmark {
+    private static final String SET_VALUE_SCRIPT =
+            "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;" +
+            "setter.call(arguments[0], arguments[1]);" +
+            "arguments[0].dispatchEvent(new Event('input', {bubbles: true}));" +
+            "arguments[0].dispatchEvent(new Event('change', {bubbles: true}));";
+
+    private WebElement nameInput;
+
+    @Setup(Level.Trial)
+    public void openOrderForm(SiteState site) {
+        site.driver.get(TestConfig.baseUrl() + "order");
+        nameInput = new WebDriverWait(site.driver, Duration.ofSeconds(10))
+                .until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//input[@placeholder='* Имя']")));
+    }
+
+    @Benchmark
+    public void clearAndSendKeys() {
+        nameInput.clear();
+        nameInput.sendKeys("Иван");
+    }
+
+    @Benchmark
+    public Object scriptSetter(SiteState site) {
+        return ((JavascriptExecutor) site.driver).executeScript(SET_VALUE_SCRIPT, nameInput, "Иван");
+    }
+}
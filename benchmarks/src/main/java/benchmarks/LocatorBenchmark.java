@@ -0,0 +1,89 @@
+package benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pages.MainPage;
+
+import java.util.concurrent.TimeUnit;
+
+// Поиск одних и тех же элементов главной страницы разными стратегиями локаторов.
+// Варианты *PageObject берут локатор прямо из MainPage, остальные — кандидаты на замену
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocatorBenchmark {
+    private static final By STATUS_BUTTON_PAGE_OBJECT = MainPage.getOrderStatusButton();
+    private static final By STATUS_BUTTON_CSS = By.cssSelector("button.Header_Link__1TAG7");
+
+    private static final By BOTTOM_ORDER_PAGE_OBJECT = MainPage.getBottomOrderButton();
+    private static final By BOTTOM_ORDER_CSS = By.cssSelector(".Home_FinishButton__1_cWm button");
+
+    private static final By ACCORDION_PAGE_OBJECT = MainPage.getAccordionQuestion(3);
+    private static final By ACCORDION_XPATH_TEXT =
+            By.xpath("//div[text()='Можно ли заказать самокат прямо на сегодня?']");
+    private static final By ACCORDION_CSS = By.cssSelector("#accordion__heading-3");
+
+    // Кандидат, который нашёл не тот элемент, что локатор page object, меряет не то: останавливаем прогон
+    @Setup(Level.Trial)
+    public void checkCandidates(SiteState site) {
+        sameElement(site, STATUS_BUTTON_PAGE_OBJECT, STATUS_BUTTON_CSS);
+        sameElement(site, BOTTOM_ORDER_PAGE_OBJECT, BOTTOM_ORDER_CSS);
+        sameElement(site, ACCORDION_PAGE_OBJECT, ACCORDION_XPATH_TEXT);
+        sameElement(site, ACCORDION_PAGE_OBJECT, ACCORDION_CSS);
+    }
+
+    @Benchmark
+    public WebElement statusButtonPageObject(SiteState site) {
+        return site.driver.findElement(STATUS_BUTTON_PAGE_OBJECT);
+    }
+
+    @Benchmark
+    public WebElement statusButtonCss(SiteState site) {
+        return site.driver.findElement(STATUS_BUTTON_CSS);
+    }
+
+    @Benchmark
+    public WebElement bottomOrderButtonPageObject(SiteState site) {
+        return site.driver.findElement(BOTTOM_ORDER_PAGE_OBJECT);
+    }
+
+    @Benchmark
+    public WebElement bottomOrderButtonCss(SiteState site) {
+        return site.driver.findElement(BOTTOM_ORDER_CSS);
+    }
+
+    @Benchmark
+    public WebElement accordionHeadingPageObject(SiteState site) {
+        return site.driver.findElement(ACCORDION_PAGE_OBJECT);
+    }
+
+    @Benchmark
+    public WebElement accordionHeadingXpathText(SiteState site) {
+        return site.driver.findElement(ACCORDION_XPATH_TEXT);
+    }
+
+    @Benchmark
+    public WebElement accordionHeadingCss(SiteState site) {
+        return site.driver.findElement(ACCORDION_CSS);
+    }
+
+    private static void sameElement(SiteState site, By pageObject, By candidate) {
+        if (!site.driver.findElement(pageObject).equals(site.driver.findElement(candidate))) {
+            throw new IllegalStateException(candidate + " finds a different element than " + pageObject);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import driver.DriverFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import pages.MainPage;
+
+import java.time.Duration;
+
+// Один headless-браузер на прогон бенчмарка, открытый на главной странице локальной копии сайта
+@State(Scope.Benchmark)
+public class SiteState {
+    public WebDriver driver;
+    public MainPage mainPage;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // По умолчанию меряем на встроенной копии сайта и без собственного инструментирования page objects
+        if (System.getProperty("scooter.baseUrl") == null) {
+            System.setProperty("scooter.stub", "true");
+        }
+        defaultProperty("driver.headless", "true");
+        defaultProperty("metrics.enabled", "false");
+
+        driver = DriverFactory.createChrome();
+        mainPage = new MainPage(driver);
+        mainPage.open();
+        mainPage.acceptCookies();
+        new WebDriverWait(driver, Duration.ofSeconds(10))
+                .until(ExpectedConditions.presenceOfElementLocated(org.openqa.selenium.By.id("accordion__heading-0")));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    private static void defaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
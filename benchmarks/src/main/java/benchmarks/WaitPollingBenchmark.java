@@ -0,0 +1,49 @@
+package benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Сколько сверх реальной задержки приложения стоит ожидание при разных интервалах опроса.
+// Элемент появляется через APPEAR_AFTER_MS, 500 мс — интервал WebDriverWait по умолчанию
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitPollingBenchmark {
+    private static final int APPEAR_AFTER_MS = 150;
+    private static final By TARGET = By.id("bench-target");
+    private static final String SCHEDULE_SCRIPT =
+            "var old = document.getElementById('bench-target'); if (old) { old.remove(); }" +
+            "setTimeout(function () {" +
+            "  var el = document.createElement('div'); el.id = 'bench-target'; el.textContent = 'ready';" +
+            "  document.body.appendChild(el);" +
+            "}, arguments[0]);";
+
+    @Param({"10", "50", "100", "250", "500"})
+    public long pollingMs;
+
+    @Benchmark
+    public WebElement waitForDelayedElement(SiteState site) {
+        ((JavascriptExecutor) site.driver).executeScript(SCHEDULE_SCRIPT, APPEAR_AFTER_MS);
+        return new WebDriverWait(site.driver, Duration.ofSeconds(5), Duration.ofMillis(pollingMs))
+                .until(ExpectedConditions.visibilityOfElementLocated(TARGET));
+    }
+}
@@ -0,0 +1,178 @@
+package api;
+
+import config.TestConfig;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+// Клиент API заказов (/api/v1/orders): создать, найти по номеру и отменить заказ без браузера.
+// Нужен, чтобы готовить данные для проверок страницы статуса, не проходя форму заказа в UI
+public class OrderApiClient {
+    private static final String ORDERS = "api/v1/orders";
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final Json json = new Json();
+
+    public OrderApiClient() {
+        this(TestConfig.baseUrl());
+    }
+
+    public OrderApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(TestConfig.apiTimeout())
+                .build();
+    }
+
+    // Тело заказа в формате API: станция метро и срок аренды — номера, дата — yyyy-MM-dd, цвета — BLACK/GREY
+    public static Map<String, Object> orderPayload(String firstName, String lastName, String address,
+                                                   int metroStation, String phone, int rentDays,
+                                                   String deliveryDate, String comment, List<String> colors) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("firstName", firstName);
+        order.put("lastName", lastName);
+        order.put("address", address);
+        order.put("metroStation", String.valueOf(metroStation));
+        order.put("phone", phone);
+        order.put("rentTime", rentDays);
+        order.put("deliveryDate", deliveryDate);
+        order.put("comment", comment);
+        List<String> apiColors = new ArrayList<>();
+        for (String color : colors) {
+            apiColors.add(color.toUpperCase(Locale.ROOT));
+        }
+        order.put("color", apiColors);
+        return order;
+    }
+
+    public int createOrder(Map<String, Object> order) {
+        return join(createOrderAsync(order));
+    }
+
+    public CompletableFuture<Integer> createOrderAsync(Map<String, Object> order) {
+        HttpRequest request = request(ORDERS)
+                .header("Content-Type", "application/json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(json.toJson(order), StandardCharsets.UTF_8))
+                .build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> {
+                    Map<String, Object> body = expect(response, 201);
+                    Object track = body.get("track");
+                    if (!(track instanceof Number)) {
+                        throw new IllegalStateException("Order created without a track number: " + response.body());
+                    }
+                    return ((Number) track).intValue();
+                });
+    }
+
+    // Заказ по номеру или null, если такого нет
+    public Map<String, Object> findOrder(int track) {
+        HttpResponse<String> response = send(request(ORDERS + "/track?t=" + track).GET().build());
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        Object order = expect(response, 200).get("order");
+        return order instanceof Map ? castMap(order) : null;
+    }
+
+    public void cancelOrder(int track) {
+        expect(send(request(ORDERS + "/cancel?track=" + track)
+                .PUT(HttpRequest.BodyPublishers.noBody()).build()), 200);
+    }
+
+    // Создаёт заказы параллельно, не больше concurrency запросов одновременно
+    public SeedReport seedOrders(List<Map<String, Object>> orders, int concurrency) {
+        int limit = Math.max(1, concurrency);
+        Semaphore slots = new Semaphore(limit);
+        List<CompletableFuture<Integer>> pending = new ArrayList<>();
+        long start = System.nanoTime();
+        for (Map<String, Object> order : orders) {
+            slots.acquireUninterruptibly();
+            pending.add(createOrderAsync(order).whenComplete((track, error) -> slots.release()));
+        }
+
+        List<Integer> tracks = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (CompletableFuture<Integer> future : pending) {
+            try {
+                tracks.add(future.join());
+                errors.add(null);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                tracks.add(null);
+                errors.add(String.valueOf(cause.getMessage()));
+            }
+        }
+        return new SeedReport(tracks, errors, System.nanoTime() - start, limit);
+    }
+
+    // Отменяет всё, что получилось отменить; возвращает число отменённых заказов
+    public int cancelOrders(List<Integer> tracks) {
+        int cancelled = 0;
+        for (Integer track : tracks) {
+            if (track == null) {
+                continue;
+            }
+            try {
+                cancelOrder(track);
+                cancelled++;
+            } catch (IllegalStateException e) {
+                System.out.println("Failed to cancel order " + track + ": " + e.getMessage());
+            }
+        }
+        return cancelled;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TestConfig.apiTimeout())
+                .header("Accept", "application/json");
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        return join(http.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
+    }
+
+    private Map<String, Object> expect(HttpResponse<String> response, int status) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri()
+                    + " returned " + response.statusCode() + ": " + response.body());
+        }
+        try {
+            return json.toType(response.body(), Json.MAP_TYPE);
+        } catch (JsonException e) {
+            throw new IllegalStateException("Unexpected response from " + response.uri() + ": " + response.body(), e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Order API request failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+}
@@ -0,0 +1,56 @@
+package api;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// Итог массового создания заказов: номера и ошибки в порядке входных данных (null — заказ создан или
+// не создан соответственно) и пропускная способность
+public class SeedReport {
+    private final List<Integer> tracks;
+    private final List<String> errors;
+    private final long elapsedNanos;
+    private final int concurrency;
+
+    SeedReport(List<Integer> tracks, List<String> errors, long elapsedNanos, int concurrency) {
+        this.tracks = Collections.unmodifiableList(tracks);
+        this.errors = Collections.unmodifiableList(errors);
+        this.elapsedNanos = elapsedNanos;
+        this.concurrency = concurrency;
+    }
+
+    public List<Integer> getTracks() {
+        return tracks;
+    }
+
+    public int getCreated() {
+        return (int) tracks.stream().filter(Objects::nonNull).count();
+    }
+
+    public int getFailures() {
+        return (int) errors.stream().filter(Objects::nonNull).count();
+    }
+
+    // Ошибка по каждой строке входных данных
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public String getFirstError() {
+        return errors.stream().filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getOrdersPerSecond() {
+        return elapsedNanos == 0 ? 0 : getCreated() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Seeded %d orders in %d ms (%.1f orders/s, concurrency %d, %d failed)",
+                getCreated(), getElapsedMillis(), getOrdersPerSecond(), concurrency, getFailures());
+    }
+}
@@ -0,0 +1,117 @@
+package artifacts;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+// Фоновая запись артефактов: один поток, ограниченная очередь. Поток теста только ставит задачу
+final class ArtifactWriter {
+    private static final DateTimeFormatter STAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final Path root;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    ArtifactWriter(Path root, int queueSize) {
+        this.root = root;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                task -> {
+                    Thread thread = new Thread(task, "artifact-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> dropped.incrementAndGet());
+    }
+
+    void submit(String testName, String error, List<Snapshot> snapshots) {
+        if (executor.isShutdown()) {
+            dropped.incrementAndGet();
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                Path dir = write(testName, error, snapshots);
+                System.out.println("Failure artifacts for " + testName + " written to " + dir.toAbsolutePath());
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Failed to write failure artifacts for " + testName + ": " + e.getMessage());
+            }
+        });
+    }
+
+    // Дописывает всё, что уже в очереди, и останавливает поток
+    void flush(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                System.out.println("Artifact writer did not finish in " + timeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.get() > 0) {
+            System.out.println("Failure artifacts dropped (queue full): " + dropped.get());
+        }
+    }
+
+    private Path write(String testName, String error, List<Snapshot> snapshots) throws IOException {
+        // Полное имя теста лежит в failure.json, хеш различает строки параметризованных данных
+        Path dir = root.resolve(safeName(testName) + "-" + Integer.toHexString(testName.hashCode())
+                + "-" + STAMP.format(Instant.now()));
+        Files.createDirectories(dir);
+
+        List<Object> entries = new ArrayList<>();
+        for (int i = 0; i < snapshots.size(); i++) {
+            Snapshot snapshot = snapshots.get(i);
+            String prefix = String.format("%02d-%s", i + 1, safeName(snapshot.label));
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("label", snapshot.label);
+            entry.put("url", snapshot.url);
+            entry.put("capturedAt", snapshot.capturedAt.toString());
+            if (snapshot.png != null) {
+                entry.put("screenshot", gzip(dir.resolve(prefix + ".png.gz"), snapshot.png));
+            }
+            if (snapshot.html != null) {
+                entry.put("dom", gzip(dir.resolve(prefix + ".html.gz"), snapshot.html));
+            }
+            entries.add(entry);
+        }
+
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("test", testName);
+        index.put("error", error);
+        index.put("snapshots", entries);
+        Files.write(dir.resolve("failure.json"), new Json().toJson(index).getBytes(StandardCharsets.UTF_8));
+        return dir;
+    }
+
+    private static String gzip(Path file, byte[] data) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            out.write(data);
+        }
+        return file.getFileName().toString();
+    }
+
+    // Только ASCII: имена тестов кириллические, а кодировка файловой системы у JVM бывает ASCII
+    private static String safeName(String name) {
+        String safe = name.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return safe.length() > 60 ? safe.substring(0, 60) : safe;
+    }
+}
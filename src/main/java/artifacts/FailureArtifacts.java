@@ -0,0 +1,104 @@
+package artifacts;
+
+import config.TestConfig;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+// Артефакты падений: page objects складывают снимки страницы в небольшой буфер потока,
+// при падении теста буфер уходит фоновому писателю (gzip, target/failure-artifacts)
+public final class FailureArtifacts {
+    private static final String NO_TEST = "(outside tests)";
+    private static final long FLUSH_TIMEOUT_MS = 30_000;
+
+    private static final ThreadLocal<SnapshotRing> RING = ThreadLocal.withInitial(
+            () -> new SnapshotRing(TestConfig.artifactBufferSize(), TestConfig.artifactBufferKb() * 1024L));
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+    private static volatile ArtifactWriter writer;
+
+    private FailureArtifacts() {
+    }
+
+    // Снимки до finishTest() относятся к указанному тесту; старые снимки потока выбрасываются
+    public static void startTest(String testName) {
+        CURRENT_TEST.set(testName);
+        RING.get().clear();
+    }
+
+    public static void finishTest() {
+        CURRENT_TEST.remove();
+        RING.get().clear();
+    }
+
+    // Запоминает текущее состояние страницы в буфере, на диск ничего не пишет
+    public static void snapshot(WebDriver driver, String label) {
+        RING.get().add(capture(driver, label));
+    }
+
+    // Снимает финальное состояние и отдаёт весь буфер потока на запись
+    public static void failure(WebDriver driver, String label, Throwable error) {
+        if (driver != null) {
+            snapshot(driver, label);
+        }
+        List<Snapshot> snapshots = RING.get().drain();
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        String test = CURRENT_TEST.get();
+        writer().submit(test == null ? label : test, describe(error), snapshots);
+    }
+
+    private static Snapshot capture(WebDriver driver, String label) {
+        String url = null;
+        byte[] png = null;
+        byte[] html = null;
+        try {
+            url = driver.getCurrentUrl();
+        } catch (Exception e) {
+            System.out.println("Failed to read URL for snapshot: " + e.getMessage());
+        }
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            System.out.println("Failed to take screenshot: " + e.getMessage());
+        }
+        try {
+            html = driver.getPageSource().getBytes(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            System.out.println("Failed to read page source: " + e.getMessage());
+        }
+        return new Snapshot(label, url, Instant.now(), png, html);
+    }
+
+    private static String describe(Throwable error) {
+        if (error == null) {
+            return null;
+        }
+        StringWriter trace = new StringWriter();
+        error.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+
+    private static ArtifactWriter writer() {
+        ArtifactWriter current = writer;
+        if (current == null) {
+            synchronized (FailureArtifacts.class) {
+                current = writer;
+                if (current == null) {
+                    current = new ArtifactWriter(TestConfig.artifactsDir(), TestConfig.artifactQueueSize());
+                    ArtifactWriter hooked = current;
+                    Runtime.getRuntime().addShutdownHook(
+                            new Thread(() -> hooked.flush(FLUSH_TIMEOUT_MS), "artifact-writer-flush"));
+                    writer = current;
+                }
+            }
+        }
+        return current;
+    }
+}
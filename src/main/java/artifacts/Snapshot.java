@@ -0,0 +1,24 @@
+package artifacts;
+
+import java.time.Instant;
+
+// Снимок страницы в памяти: скриншот и DOM в том виде, как их отдал браузер
+final class Snapshot {
+    final String label;
+    final String url;
+    final Instant capturedAt;
+    final byte[] png;
+    final byte[] html;
+
+    Snapshot(String label, String url, Instant capturedAt, byte[] png, byte[] html) {
+        this.label = label;
+        this.url = url;
+        this.capturedAt = capturedAt;
+        this.png = png;
+        this.html = html;
+    }
+
+    long bytes() {
+        return (png == null ? 0 : png.length) + (html == null ? 0 : html.length);
+    }
+}
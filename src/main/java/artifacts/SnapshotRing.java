@@ -0,0 +1,41 @@
+package artifacts;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Последние снимки одного потока тестов. Ограничен и числом снимков, и байтами:
+// старые выталкиваются, самый свежий остаётся всегда
+final class SnapshotRing {
+    private final int capacity;
+    private final long maxBytes;
+    private final Deque<Snapshot> snapshots = new ArrayDeque<>();
+    private long bytes;
+
+    SnapshotRing(int capacity, long maxBytes) {
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+    }
+
+    void add(Snapshot snapshot) {
+        snapshots.addLast(snapshot);
+        bytes += snapshot.bytes();
+        while (snapshots.size() > 1 && (snapshots.size() > capacity || bytes > maxBytes)) {
+            bytes -= snapshots.removeFirst().bytes();
+        }
+    }
+
+    // Забирает всё накопленное, кольцо остаётся пустым
+    List<Snapshot> drain() {
+        List<Snapshot> drained = new ArrayList<>(snapshots);
+        snapshots.clear();
+        bytes = 0;
+        return drained;
+    }
+
+    void clear() {
+        snapshots.clear();
+        bytes = 0;
+    }
+}
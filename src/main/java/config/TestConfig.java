@@ -0,0 +1,431 @@
+package config;
+
+import stub.ScooterStubServer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Единая точка настроек прогона: всё читается из system properties (-Dkey=value)
+public final class TestConfig {
+    public static final String DEFAULT_BASE_URL = "https://qa-scooter.praktikum-services.ru/";
+
+    private TestConfig() {
+    }
+
+    // Адрес сайта для всех page objects: -Dscooter.baseUrl, либо локальная копия при -Dscooter.stub=true
+    public static String baseUrl() {
+        String url = System.getProperty("scooter.baseUrl");
+        if (url != null && !url.isBlank()) {
+            url = url.trim();
+            return url.endsWith("/") ? url : url + "/";
+        }
+        if (booleanProperty("scooter.stub", false)) {
+            return ScooterStubServer.shared().baseUrl();
+        }
+        return DEFAULT_BASE_URL;
+    }
+
+    // Адрес сайта выбран явно (-Dscooter.baseUrl или -Dscooter.stub=true), а не взят по умолчанию
+    public static boolean baseUrlConfigured() {
+        String url = System.getProperty("scooter.baseUrl");
+        return (url != null && !url.isBlank()) || booleanProperty("scooter.stub", false);
+    }
+
+    // Сколько браузеров держим прогретыми в пуле (по умолчанию по одному на поток)
+    public static int poolSize() {
+        return intProperty("driver.pool.size", workers());
+    }
+
+    // Сколько раз одну сессию можно отдать тестам, прежде чем перезапустить браузер
+    public static int maxSessionReuse() {
+        return intProperty("driver.pool.maxReuse", 50);
+    }
+
+    // Сколько тестов выполняем одновременно
+    public static int workers() {
+        return Math.max(1, intProperty("test.workers", 1));
+    }
+
+    // Номер шарда (с нуля) и общее число шардов для разнесения прогона по JVM/машинам
+    public static int shardIndex() {
+        return intProperty("test.shard.index", 0);
+    }
+
+    public static int shardTotal() {
+        return Math.max(1, intProperty("test.shard.total", 1));
+    }
+
+    // Запоминать длительности и падения тестов и запускать по ним: упавшие в прошлый раз, затем самые долгие.
+    // Включается явно: без него прогон идёт как обычный Parameterized и не зависит от файла истории
+    public static boolean testTiming() {
+        return booleanProperty("test.timing", false);
+    }
+
+    // Файл истории длительностей; его можно делить между шардами и сборками на одной машине
+    public static Path testTimingFile() {
+        String file = System.getProperty("test.timing.file");
+        if (file == null || file.isBlank()) {
+            return Path.of("target", "test-timings.json");
+        }
+        return Path.of(file.trim());
+    }
+
+    // Сколько дней хранится в истории тест, который больше не запускался (переименован или удалён)
+    public static Duration testTimingMaxAge() {
+        return Duration.ofDays(Math.max(1, intProperty("test.timing.maxAgeDays", 30)));
+    }
+
+    // Тесты с @StaticCheckable проверяются только без браузера (StaticContentTests), браузер нужен лишь для взаимодействия
+    public static boolean staticTier() {
+        return booleanProperty("test.static", false);
+    }
+
+    // Замеры задержек по тестам (metrics.Metrics); выключение убирает обёртки команд и запись отчёта
+    public static boolean metricsEnabled() {
+        return booleanProperty("metrics.enabled", true);
+    }
+
+    // Отчёт о задержках, который Metrics пишет в конце прогона
+    public static Path metricsOutput() {
+        String file = System.getProperty("metrics.output");
+        if (file == null || file.isBlank()) {
+            return Path.of("target", "latency-report.json");
+        }
+        return Path.of(file.trim());
+    }
+
+    // Запускать браузер без окна (для CI и бенчмарков)
+    public static boolean headless() {
+        return booleanProperty("driver.headless", false);
+    }
+
+    // Быстрый профиль: headless, eager-загрузка страниц и блокировка ненужных ресурсов через DevTools
+    public static boolean fastProfile() {
+        return booleanProperty("driver.fast", false);
+    }
+
+    // Типы ресурсов, которые быстрый профиль не грузит: image, font, media, stylesheet, script
+    public static List<String> blockedResourceTypes() {
+        return listProperty("driver.fast.blockTypes", "image,font,media");
+    }
+
+    // Маски адресов (* — любые символы), которые быстрый профиль не грузит
+    public static List<String> blockedUrlPatterns() {
+        return listProperty("driver.fast.blockUrls", "*analytics*,*metrika*,*mc.yandex.ru*,*googletagmanager*");
+    }
+
+    // Что разрешено грузить на конкретных страницах: «маска страницы=маска ресурса|маска ресурса;...».
+    // Картинку «не найдено» на странице статуса проверяет StatusPage, её не блокируем
+    public static Map<String, List<String>> allowedUrlPatterns() {
+        Map<String, List<String>> allowed = new LinkedHashMap<>();
+        for (String entry : listProperty("driver.fast.allow", "*/track*=*not-found*", ";")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Property driver.fast.allow expects page=pattern|pattern, got: " + entry);
+            }
+            allowed.put(entry.substring(0, separator).trim(),
+                    List.of(entry.substring(separator + 1).trim().split("\\s*\\|\\s*")));
+        }
+        return allowed;
+    }
+
+    // Считать запросы и байты по тестам и без быстрого профиля — так снимается базовая линия для сравнения
+    public static boolean networkReport() {
+        return booleanProperty("network.report", false);
+    }
+
+    // Отчёт о трафике прогона с быстрым профилем, со сравнением с базовой линией
+    public static Path networkReportFile() {
+        String file = System.getProperty("network.report.file");
+        if (file == null || file.isBlank()) {
+            return Path.of("target", "network-report.json");
+        }
+        return Path.of(file.trim());
+    }
+
+    // Базовая линия трафика: её пишет прогон с network.report без быстрого профиля
+    public static Path networkBaselineFile() {
+        String file = System.getProperty("network.baseline.file");
+        if (file == null || file.isBlank()) {
+            return Path.of("target", "network-baseline.json");
+        }
+        return Path.of(file.trim());
+    }
+
+    // Таймауты ожиданий задаются здесь, а не в каждом page object
+    // Обычное ожидание элемента на странице
+    public static Duration waitTimeout() {
+        return Duration.ofMillis(intProperty("wait.timeout.ms", 10_000));
+    }
+
+    // Ожидание ответа сервера: оформление заказа, поиск заказа
+    public static Duration longWaitTimeout() {
+        return Duration.ofMillis(intProperty("wait.long.timeout.ms", 45_000));
+    }
+
+    // Необязательные элементы вроде куки-баннера: их может и не быть
+    public static Duration shortWaitTimeout() {
+        return Duration.ofMillis(intProperty("wait.short.timeout.ms", 2_000));
+    }
+
+    // Интервал опроса, если ожидание через наблюдатель DOM недоступно
+    public static Duration waitPollingInterval() {
+        return Duration.ofMillis(Math.max(10, intProperty("wait.polling.ms", 100)));
+    }
+
+    // Таймаут асинхронных скриптов в сессии; длинные ожидания делятся на отрезки короче него
+    public static Duration scriptTimeout() {
+        return Duration.ofMillis(intProperty("driver.scriptTimeout.ms", 30_000));
+    }
+
+    // Таймаут HTTP-запросов без браузера: API заказов и статические проверки страниц
+    public static Duration apiTimeout() {
+        return Duration.ofMillis(intProperty("api.timeout.ms", 10_000));
+    }
+
+    // Сколько заказов создаётся через API одновременно при подготовке данных
+    public static int seedConcurrency() {
+        return Math.max(1, intProperty("api.seed.concurrency", 8));
+    }
+
+    // Откуда берутся тестовые данные заказа: fixed (две строки), pairwise, random или csv
+    public static String dataMode() {
+        String mode = System.getProperty("data.mode");
+        return mode == null || mode.isBlank() ? "fixed" : mode.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Seed для pairwise и random: с тем же seed строки повторяются от прогона к прогону
+    public static long dataSeed() {
+        return longProperty("data.seed", 42L);
+    }
+
+    // Сколько строк даёт режим random
+    public static int dataCount() {
+        return Math.max(1, intProperty("data.count", 50));
+    }
+
+    // Не больше стольких строк из любого источника; 0 — без ограничения
+    public static int dataLimit() {
+        return Math.max(0, intProperty("data.limit", 0));
+    }
+
+    // Сколько дней доставки, начиная с завтрашнего, перебирают pairwise и random
+    public static int dataDays() {
+        return Math.max(1, intProperty("data.days", 7));
+    }
+
+    // CSV-файл с данными для режима csv
+    public static Path dataCsv() {
+        String file = System.getProperty("data.csv");
+        if (file == null || file.isBlank()) {
+            throw new IllegalArgumentException("Property data.csv must point to a CSV file when data.mode=csv");
+        }
+        return Path.of(file.trim());
+    }
+
+    // Нагрузочный режим (load.LoadRunner): сколько виртуальных пользователей проходят сценарий заказа
+    public static int loadUsers() {
+        return Math.max(1, intProperty("load.users", 10));
+    }
+
+    // Сколько браузеров делят между собой виртуальные пользователи
+    public static int loadBrowsers() {
+        return Math.max(1, intProperty("load.browsers", Math.min(loadUsers(), 4)));
+    }
+
+    // За сколько запускаются все пользователи: они стартуют равномерно на этом отрезке
+    public static Duration loadRampUp() {
+        return Duration.ofMillis(intProperty("load.rampUp.ms", 10_000));
+    }
+
+    // Пауза пользователя между заказами, ±50%; браузер в это время отдан другим
+    public static Duration loadThinkTime() {
+        return Duration.ofMillis(intProperty("load.thinkTime.ms", 2_000));
+    }
+
+    // Сколько длится нагрузка; начатые к концу сценарии дорабатывают
+    public static Duration loadDuration() {
+        return Duration.ofMillis(intProperty("load.duration.ms", 60_000));
+    }
+
+    public static Path loadReportFile() {
+        String file = System.getProperty("load.output");
+        if (file == null || file.isBlank()) {
+            return Path.of("target", "load-report.json");
+        }
+        return Path.of(file.trim());
+    }
+
+    // Адрес фермы браузеров (farm.BrowserFarm) или любого WebDriver-сервера; если задан, браузер не запускается локально.
+    // Настройки браузера тогда задаёт сама ферма, а быстрый профиль не блокирует ресурсы: DevTools через ферму недоступны
+    public static String remoteUrl() {
+        String url = System.getProperty("driver.remote.url");
+        return url == null || url.isBlank() ? null : url.trim();
+    }
+
+    // Ферма браузеров: порт, на котором её ждут тестовые JVM
+    public static int farmPort() {
+        return intProperty("farm.port", 4444);
+    }
+
+    // Сколько браузеров ферма держит одновременно, включая арендованные
+    public static int farmSize() {
+        return Math.max(1, intProperty("farm.size", 4));
+    }
+
+    // Сколько свободных браузеров ферма держит прогретыми и не выселяет по простою
+    public static int farmMinIdle() {
+        return Math.max(0, intProperty("farm.minIdle", 2));
+    }
+
+    // Сверх farm.minIdle свободный браузер закрывается после такого простоя
+    public static Duration farmIdleTimeout() {
+        return Duration.ofMillis(intProperty("farm.idle.ms", 300_000));
+    }
+
+    // Аренда без единой команды дольше этого считается брошенной (клиент упал, не вызвав quit)
+    public static Duration farmLeaseTimeout() {
+        return Duration.ofMillis(intProperty("farm.lease.ms", 600_000));
+    }
+
+    // Как часто ферма проверяет здоровье свободных браузеров, выселяет лишние и догревает недостающие
+    public static Duration farmHealthInterval() {
+        return Duration.ofMillis(Math.max(100, intProperty("farm.health.ms", 15_000)));
+    }
+
+    // Предел памяти всех браузеров фермы (RSS chromedriver и chrome), в мегабайтах; 0 — без предела.
+    // С farm.backend.url не действует: браузеры чужого chromedriver не дочерние процессы фермы
+    public static long farmMaxMemoryMb() {
+        return Math.max(0, longProperty("farm.maxMemoryMb", 4096));
+    }
+
+    // Сколько новая сессия ждёт свободный браузер, прежде чем клиент получит ошибку
+    public static Duration farmQueueTimeout() {
+        return Duration.ofMillis(intProperty("farm.queue.ms", 60_000));
+    }
+
+    // Уже запущенный chromedriver для фермы; по умолчанию ферма запускает свой
+    public static String farmBackendUrl() {
+        String url = System.getProperty("farm.backend.url");
+        return url == null || url.isBlank() ? null : url.trim();
+    }
+
+    // Заполнять простые поля формы заказа одним скриптом вместо clear()/sendKeys() по каждому полю
+    public static boolean batchedFormFill() {
+        return booleanProperty("order.fill.batched", false);
+    }
+
+    // Не ходить в сеть за chromedriver: только кэш на диске, иначе быстрая понятная ошибка
+    public static boolean driverOffline() {
+        return booleanProperty("driver.offline", false);
+    }
+
+    // Версия Chrome, если её не надо узнавать запуском браузера с --version; null — узнавать
+    public static String chromeVersion() {
+        String version = System.getProperty("chrome.version");
+        return version == null || version.isBlank() ? null : version.trim();
+    }
+
+    // Каталог кэша «версия браузера -> путь к chromedriver», общий для всех запусков на машине
+    public static Path driverCacheDir() {
+        String dir = System.getProperty("driver.cache.dir");
+        if (dir == null || dir.isBlank()) {
+            return Path.of(System.getProperty("user.home"), ".cache", "scooter-autotests");
+        }
+        return Path.of(dir.trim());
+    }
+
+    // Подкладывать в сессии пула снимок согласия с куки вместо того, чтобы закрывать баннер в каждом тесте
+    public static boolean sessionState() {
+        return booleanProperty("session.state", true);
+    }
+
+    // Файл со снимком куки и localStorage; переживает прогон, пока не устарел
+    public static Path sessionStateFile() {
+        String file = System.getProperty("session.state.file");
+        if (file == null || file.isBlank()) {
+            return Path.of("target", "session-state.json");
+        }
+        return Path.of(file.trim());
+    }
+
+    // Куда складывать скриншоты и DOM упавших тестов
+    public static Path artifactsDir() {
+        String dir = System.getProperty("artifacts.dir");
+        if (dir == null || dir.isBlank()) {
+            return Path.of("target", "failure-artifacts");
+        }
+        return Path.of(dir.trim());
+    }
+
+    // Сколько последних снимков страницы держим в памяти на каждый поток тестов
+    public static int artifactBufferSize() {
+        return Math.max(1, intProperty("artifacts.buffer.size", 5));
+    }
+
+    // Предел памяти под снимки одного потока, в килобайтах
+    public static int artifactBufferKb() {
+        return Math.max(1, intProperty("artifacts.buffer.maxKb", 8 * 1024));
+    }
+
+    // Сколько падений может ждать записи на диск; лишние отбрасываются, тест не ждёт
+    public static int artifactQueueSize() {
+        return Math.max(1, intProperty("artifacts.queue.size", 16));
+    }
+
+    static List<String> listProperty(String key, String defaultValue) {
+        return listProperty(key, defaultValue, ",");
+    }
+
+    static List<String> listProperty(String key, String defaultValue, String separator) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = defaultValue;
+        }
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(Pattern.quote(separator))) {
+            if (!item.isBlank()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+
+    static boolean booleanProperty(String key, boolean defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    static long longProperty(String key, long defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + key + " must be an integer, got: " + value);
+        }
+    }
+
+    static int intProperty(String key, int defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + key + " must be an integer, got: " + value);
+        }
+    }
+}
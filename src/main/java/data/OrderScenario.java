@@ -0,0 +1,110 @@
+package data;
+
+import api.OrderApiClient;
+import stub.FixtureData;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+// Одна строка тестовых данных заказа; порядок полей совпадает с конструктором MainTests
+public class OrderScenario {
+    // Колонки CSV-файла с данными, в том же порядке
+    public static final String[] COLUMNS = {
+            "name", "surname", "address", "metroStation", "phone", "date", "rentalPeriod", "color", "comment"
+    };
+
+    private final String name;
+    private final String surname;
+    private final String address;
+    private final String metroStation;
+    private final String phone;
+    private final String date;
+    private final String rentalPeriod;
+    private final String color;
+    private final String comment;
+
+    public OrderScenario(String name, String surname, String address, String metroStation, String phone,
+                         String date, String rentalPeriod, String color, String comment) {
+        this.name = name;
+        this.surname = surname;
+        this.address = address;
+        this.metroStation = metroStation;
+        this.phone = phone;
+        this.date = date;
+        this.rentalPeriod = rentalPeriod;
+        this.color = color;
+        this.comment = comment;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSurname() {
+        return surname;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getMetroStation() {
+        return metroStation;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    // Дата доставки в формате формы: dd.MM.yyyy
+    public String getDate() {
+        return date;
+    }
+
+    public String getRentalPeriod() {
+        return rentalPeriod;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    // Аргументы конструктора MainTests
+    public Object[] toArgs() {
+        return new Object[]{name, surname, address, metroStation, phone, date, rentalPeriod, color, comment};
+    }
+
+    // Тело заказа для API. Станция и срок аренды должны быть из списков сайта, дата — dd.MM.yyyy:
+    // иначе IllegalArgumentException, а не заказ с нулевой станцией
+    public Map<String, Object> toOrderPayload() {
+        int station = FixtureData.METRO_STATIONS.indexOf(metroStation) + 1;
+        if (station == 0) {
+            throw new IllegalArgumentException("Unknown metro station '" + metroStation + "' in " + this);
+        }
+        int rentDays = FixtureData.RENTAL_PERIODS.indexOf(rentalPeriod) + 1;
+        if (rentDays == 0) {
+            throw new IllegalArgumentException("Unknown rental period '" + rentalPeriod + "' in " + this);
+        }
+        String deliveryDate;
+        try {
+            deliveryDate = LocalDate.parse(date, DateTimeFormatter.ofPattern("dd.MM.yyyy")).toString();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Delivery date '" + date + "' is not dd.MM.yyyy in " + this, e);
+        }
+        return OrderApiClient.orderPayload(name, surname, address, station, phone, rentDays, deliveryDate,
+                comment, List.of(color));
+    }
+
+    @Override
+    public String toString() {
+        return "OrderScenario{" + name + " " + surname + ", " + metroStation + ", " + date + ", "
+                + rentalPeriod + ", " + color + "}";
+    }
+}
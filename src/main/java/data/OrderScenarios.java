@@ -0,0 +1,214 @@
+package data;
+
+import config.TestConfig;
+import stub.FixtureData;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Источники тестовых данных заказа. Все отдают ленивый Stream: строки считаются или читаются по мере запроса.
+// Режим выбирается через -Ddata.mode=fixed|pairwise|random|csv
+public final class OrderScenarios {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    // Покупатель (имя, фамилия, адрес) перебирается как одно поле
+    private static final List<String[]> CUSTOMERS = List.of(
+            new String[]{"Иван", "Иванов", "ул. Ленина, 1"},
+            new String[]{"Петр", "Петров", "ул. Пушкина, 10"},
+            new String[]{"Анна", "Смирнова", "пр. Мира, 25, кв. 4"}
+    );
+
+    private static final List<String> COMMENTS = List.of("Позвонить за час", "Оставьте у двери");
+
+    private OrderScenarios() {
+    }
+
+    // Источник по настройкам прогона; -Ddata.limit обрезает любой из них
+    public static Stream<OrderScenario> configured() {
+        Stream<OrderScenario> scenarios;
+        String mode = TestConfig.dataMode();
+        switch (mode) {
+            case "fixed":
+                scenarios = fixed();
+                break;
+            case "pairwise":
+                scenarios = pairwise(TestConfig.dataSeed());
+                break;
+            case "random":
+                scenarios = random(TestConfig.dataSeed()).limit(TestConfig.dataCount());
+                break;
+            case "csv":
+                scenarios = csv(TestConfig.dataCsv());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown data.mode: " + mode + " (expected fixed, pairwise, random or csv)");
+        }
+        int limit = TestConfig.dataLimit();
+        return limit > 0 ? scenarios.limit(limit) : scenarios;
+    }
+
+    // Две строки, с которых начинались тесты
+    public static Stream<OrderScenario> fixed() {
+        return Stream.of(
+                new OrderScenario("Иван", "Иванов", "ул. Ленина, 1", "Сокольники", "+79991112233",
+                        "01.01.2025", "сутки", "black", "Позвонить за час"),
+                new OrderScenario("Петр", "Петров", "ул. Пушкина, 10", "Фрунзенская", "+79876543210",
+                        "15.01.2025", "сутки", "grey", "Оставьте у двери")
+        );
+    }
+
+    // Каждая пара значений покупателя, станции, даты, срока аренды, цвета и комментария встречается хотя бы раз.
+    // Строк получается порядка «станции × сроки аренды», а не произведение всех полей
+    public static Stream<OrderScenario> pairwise(long seed) {
+        PairwiseGenerator generator = new PairwiseGenerator(List.of(
+                customerIndexes(), FixtureData.METRO_STATIONS, deliveryDates(), FixtureData.RENTAL_PERIODS,
+                FixtureData.COLORS, COMMENTS), seed);
+        System.out.println("Pairwise order data instead of " + generator.exhaustiveSize() + " exhaustive rows, seed " + seed);
+        AtomicInteger number = new AtomicInteger();
+        return generator.stream().map(row -> scenario(number.incrementAndGet(), Integer.parseInt(row.get(0)),
+                row.get(1), row.get(2), row.get(3), row.get(4), row.get(5)));
+    }
+
+    // Бесконечный поток случайных строк; одинаковый seed даёт одинаковые строки
+    public static Stream<OrderScenario> random(long seed) {
+        Random random = new Random(seed);
+        List<String> dates = deliveryDates();
+        return Stream.iterate(1, number -> number + 1).map(number -> scenario(number,
+                random.nextInt(CUSTOMERS.size()),
+                pick(random, FixtureData.METRO_STATIONS), pick(random, dates),
+                pick(random, FixtureData.RENTAL_PERIODS), pick(random, FixtureData.COLORS), pick(random, COMMENTS)));
+    }
+
+    // Строки CSV читаются по одной, файл целиком в памяти не держится. Первая строка — заголовок
+    // с именами колонок из OrderScenario.COLUMNS; rentalPeriod и comment можно не указывать
+    public static Stream<OrderScenario> csv(Path file) {
+        BufferedReader reader;
+        Map<String, Integer> header;
+        try {
+            reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                reader.close();
+                return Stream.empty();
+            }
+            header = parseHeader(file, headerLine.replace("\uFEFF", ""));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read test data " + file, e);
+        }
+        return reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> fromCsv(parseCsvLine(line), header))
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static OrderScenario scenario(int number, int customer, String metroStation, String date,
+                                          String rentalPeriod, String color, String comment) {
+        String[] person = CUSTOMERS.get(customer);
+        // Телефон уникален для строки: по нему тесты находят заказ, созданный через API
+        String phone = String.format("+7999%07d", number);
+        return new OrderScenario(person[0], person[1], person[2], metroStation, phone, date, rentalPeriod, color, comment);
+    }
+
+    private static List<String> customerIndexes() {
+        List<String> indexes = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS.size(); i++) {
+            indexes.add(String.valueOf(i));
+        }
+        return indexes;
+    }
+
+    // Даты доставки начиная с завтрашнего дня
+    private static List<String> deliveryDates() {
+        List<String> dates = new ArrayList<>();
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        for (int i = 0; i < TestConfig.dataDays(); i++) {
+            dates.add(tomorrow.plusDays(i).format(DATE_FORMAT));
+        }
+        return dates;
+    }
+
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static Map<String, Integer> parseHeader(Path file, String line) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = parseCsvLine(line);
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim(), i);
+        }
+        for (String column : OrderScenario.COLUMNS) {
+            if (!header.containsKey(column) && !column.equals("rentalPeriod") && !column.equals("comment")) {
+                throw new IllegalArgumentException("Test data " + file + " has no column " + column);
+            }
+        }
+        return header;
+    }
+
+    private static OrderScenario fromCsv(List<String> cells, Map<String, Integer> header) {
+        return new OrderScenario(cell(cells, header, "name", null), cell(cells, header, "surname", null),
+                cell(cells, header, "address", null), cell(cells, header, "metroStation", null),
+                cell(cells, header, "phone", null), cell(cells, header, "date", null),
+                cell(cells, header, "rentalPeriod", "сутки"), cell(cells, header, "color", null),
+                cell(cells, header, "comment", ""));
+    }
+
+    private static String cell(List<String> cells, Map<String, Integer> header, String column, String defaultValue) {
+        Integer index = header.get(column);
+        if (index == null || index >= cells.size() || cells.get(index).isEmpty()) {
+            if (defaultValue == null) {
+                throw new IllegalArgumentException("Test data row has no " + column + ": " + cells);
+            }
+            return defaultValue;
+        }
+        return cells.get(index);
+    }
+
+    // Разбор строки CSV: запятая-разделитель, значения в кавычках, "" внутри кавычек — одна кавычка
+    static List<String> parseCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString().trim());
+        return cells;
+    }
+}
@@ -0,0 +1,157 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Жадный подбор строк, покрывающих каждую пару значений любых двух полей (all-pairs).
+// Строка считается только когда её запросили из потока; при равенстве вариантов выбор решает Random с seed,
+// поэтому один и тот же seed всегда даёт одни и те же строки
+public class PairwiseGenerator {
+    private final List<List<String>> domains;
+    private final long seed;
+
+    public PairwiseGenerator(List<List<String>> domains, long seed) {
+        if (domains.size() < 2) {
+            throw new IllegalArgumentException("Pairwise generation needs at least two fields, got " + domains.size());
+        }
+        for (List<String> domain : domains) {
+            if (domain.isEmpty()) {
+                throw new IllegalArgumentException("Pairwise generation got a field without values");
+            }
+        }
+        this.domains = domains;
+        this.seed = seed;
+    }
+
+    public Stream<List<String>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new Rows(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Сколько строк дал бы полный перебор — для сравнения в логе
+    public long exhaustiveSize() {
+        long size = 1;
+        for (List<String> domain : domains) {
+            size *= domain.size();
+        }
+        return size;
+    }
+
+    private class Rows implements Iterator<List<String>> {
+        private final Random random = new Random(seed);
+        private final int fields = domains.size();
+        // uncovered[i][j] (i < j): ещё не покрытые пары, пара (a, b) лежит в бите a * |j| + b
+        private final BitSet[][] uncovered = new BitSet[fields][fields];
+        private int remaining;
+
+        Rows() {
+            for (int i = 0; i < fields; i++) {
+                for (int j = i + 1; j < fields; j++) {
+                    int size = domains.get(i).size() * domains.get(j).size();
+                    uncovered[i][j] = new BitSet(size);
+                    uncovered[i][j].set(0, size);
+                    remaining += size;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public List<String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int[] row = new int[fields];
+            Arrays.fill(row, -1);
+            fixFirstUncoveredPair(row);
+
+            // Остальные поля заполняем в случайном порядке значением, закрывающим больше всего новых пар
+            List<Integer> order = new ArrayList<>();
+            for (int k = 0; k < fields; k++) {
+                if (row[k] < 0) {
+                    order.add(k);
+                }
+            }
+            Collections.shuffle(order, random);
+            for (int k : order) {
+                row[k] = bestValue(row, k);
+            }
+
+            markCovered(row);
+            List<String> values = new ArrayList<>(fields);
+            for (int k = 0; k < fields; k++) {
+                values.add(domains.get(k).get(row[k]));
+            }
+            return values;
+        }
+
+        // Каждая строка начинается с непокрытой пары, поэтому генерация всегда продвигается
+        private void fixFirstUncoveredPair(int[] row) {
+            for (int i = 0; i < fields; i++) {
+                for (int j = i + 1; j < fields; j++) {
+                    int bit = uncovered[i][j].nextSetBit(0);
+                    if (bit >= 0) {
+                        row[i] = bit / domains.get(j).size();
+                        row[j] = bit % domains.get(j).size();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private int bestValue(int[] row, int field) {
+            int best = 0;
+            int bestScore = -1;
+            int ties = 0;
+            for (int value = 0; value < domains.get(field).size(); value++) {
+                int score = 0;
+                for (int other = 0; other < fields; other++) {
+                    if (row[other] >= 0 && isUncovered(other, row[other], field, value)) {
+                        score++;
+                    }
+                }
+                if (score > bestScore) {
+                    best = value;
+                    bestScore = score;
+                    ties = 1;
+                } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                    best = value;
+                }
+            }
+            return best;
+        }
+
+        private boolean isUncovered(int first, int firstValue, int second, int secondValue) {
+            if (first > second) {
+                return isUncovered(second, secondValue, first, firstValue);
+            }
+            return uncovered[first][second].get(firstValue * domains.get(second).size() + secondValue);
+        }
+
+        private void markCovered(int[] row) {
+            for (int i = 0; i < fields; i++) {
+                for (int j = i + 1; j < fields; j++) {
+                    int bit = row[i] * domains.get(j).size() + row[j];
+                    if (uncovered[i][j].get(bit)) {
+                        uncovered[i][j].clear(bit);
+                        remaining--;
+                    }
+                }
+            }
+        }
+    }
+}
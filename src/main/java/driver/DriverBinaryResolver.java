@@ -0,0 +1,164 @@
+package driver;
+
+import config.TestConfig;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Находит chromedriver один раз на JVM, а между запусками берёт путь из кэша на диске.
+// Сеть (WebDriverManager) нужна только при первом запуске для новой версии браузера.
+public final class DriverBinaryResolver {
+    private static final String DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final Pattern VERSION = Pattern.compile("(\\d+(?:\\.\\d+)+)");
+
+    private static volatile String resolvedPath;
+
+    private DriverBinaryResolver() {
+    }
+
+    public static String resolveChromeDriver() {
+        String path = resolvedPath;
+        if (path == null) {
+            synchronized (DriverBinaryResolver.class) {
+                path = resolvedPath;
+                if (path == null) {
+                    path = resolveOnce();
+                    System.setProperty(DRIVER_PROPERTY, path);
+                    resolvedPath = path;
+                }
+            }
+        }
+        return path;
+    }
+
+    private static String resolveOnce() {
+        long start = System.nanoTime();
+        String source;
+        String path;
+
+        String explicit = System.getProperty(DRIVER_PROPERTY);
+        String browserVersion = null;
+        if (explicit != null && Files.isExecutable(Path.of(explicit))) {
+            path = explicit;
+            source = "system property";
+        } else {
+            browserVersion = detectBrowserVersion();
+            // Без версии браузера кэш не используется: путь под неизвестной версией пережил бы обновление Chrome
+            Properties cache = browserVersion == null ? null : readCache();
+            String cached = cache == null ? null : cache.getProperty(browserVersion);
+            if (cached != null && Files.isExecutable(Path.of(cached))) {
+                path = cached;
+                source = "disk cache";
+            } else if (TestConfig.driverOffline()) {
+                throw new IllegalStateException(browserVersion == null
+                        ? "Offline mode: browser version is unknown, so no cached chromedriver can be trusted."
+                                + " Pass -Dchrome.version=<version> or -D" + DRIVER_PROPERTY + "=/path/to/chromedriver"
+                        : "Offline mode: no cached chromedriver for browser version " + browserVersion + " in "
+                                + cacheFile() + ". Run once with network access or pass -D"
+                                + DRIVER_PROPERTY + "=/path/to/chromedriver");
+            } else {
+                WebDriverManager manager = WebDriverManager.chromedriver();
+                manager.setup();
+                path = manager.getDownloadedDriverPath();
+                if (cache != null) {
+                    cache.setProperty(browserVersion, path);
+                    writeCache(cache);
+                    source = "WebDriverManager";
+                } else {
+                    source = "WebDriverManager (browser version unknown, not cached)";
+                }
+            }
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println("chromedriver resolved via " + source + " in " + millis + " ms"
+                + (browserVersion != null ? " (browser " + browserVersion + ")" : "") + ": " + path);
+        return path;
+    }
+
+    // Версию узнаём локально, запуская сам браузер с --version; -Dchrome.version перекрывает детект.
+    // null, если версию узнать не удалось
+    static String detectBrowserVersion() {
+        String configured = TestConfig.chromeVersion();
+        if (configured != null) {
+            return configured;
+        }
+        Optional<Path> browser = WebDriverManager.chromedriver().getBrowserPath();
+        if (browser.isEmpty()) {
+            return null;
+        }
+        // Вывод идёт в файл, а не в канал: чтение канала ждало бы зависший браузер без всякого таймаута
+        Path output = null;
+        try {
+            output = Files.createTempFile("chrome-version", ".txt");
+            Process process = new ProcessBuilder(browser.get().toString(), "--version")
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.toFile())
+                    .start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+                System.out.println(browser.get() + " --version did not finish in 10 s");
+                return null;
+            }
+            Matcher matcher = VERSION.matcher(new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+            return matcher.find() ? matcher.group(1) : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException ignored) {
+                    // Временный файл в системном каталоге, его уберёт ОС
+                }
+            }
+        }
+    }
+
+    private static Path cacheFile() {
+        return TestConfig.driverCacheDir().resolve("chromedriver.properties");
+    }
+
+    private static Properties readCache() {
+        Properties cache = new Properties();
+        Path file = cacheFile();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                cache.load(in);
+            } catch (IOException e) {
+                System.out.println("Ignoring unreadable driver cache " + file + ": " + e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    // Пишем во временный файл и переименовываем, чтобы параллельные JVM не видели полузаписанный кэш
+    private static void writeCache(Properties cache) {
+        Path file = cacheFile();
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "chromedriver", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                cache.store(out, "browser version -> chromedriver path");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Failed to write driver cache " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package driver;
+
+import config.TestConfig;
+import network.NetworkProfile;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+
+// Создание браузера с настройками, которые раньше жили в MainTests.setUp()
+public final class DriverFactory {
+
+    private DriverFactory() {
+    }
+
+    // Локальный Chrome или, при -Ddriver.remote.url, сессия фермы браузеров: page objects разницы не видят
+    public static WebDriver createChrome() {
+        String remoteUrl = TestConfig.remoteUrl();
+        WebDriver driver;
+        if (remoteUrl != null) {
+            try {
+                driver = new RemoteWebDriver(URI.create(remoteUrl).toURL(), chromeOptions());
+            } catch (MalformedURLException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Property driver.remote.url is not a valid URL: " + remoteUrl, e);
+            }
+        } else {
+            DriverBinaryResolver.resolveChromeDriver();
+            driver = new ChromeDriver(chromeOptions());
+        }
+        NetworkProfile.install(driver);
+        return driver;
+    }
+
+    // Общие настройки Chrome: их же ферма браузеров отдаёт chromedriver для своих сессий
+    public static ChromeOptions chromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--start-maximized");
+        options.addArguments("--disable-notifications");
+        if (TestConfig.headless() || TestConfig.fastProfile()) {
+            // В headless-режиме --start-maximized не действует, размер окна задаём явно
+            options.addArguments("--headless=new", "--window-size=1920,1080");
+        }
+        if (TestConfig.fastProfile()) {
+            // Не ждём load: готовность приложения проверяют page objects
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+        // Асинхронные скрипты ожиданий укладываются в этот таймаут (см. WaitEngine)
+        options.setScriptTimeout(TestConfig.scriptTimeout());
+        return options;
+    }
+}
@@ -0,0 +1,185 @@
+package driver;
+
+import config.TestConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Пул заранее запущенных браузеров: тест берёт сессию, а после теста возвращает её обратно
+public class DriverPool {
+    private static volatile DriverPool shared;
+
+    private final Supplier<WebDriver> factory;
+    private final Consumer<WebDriver> prepare;
+    private final int maxReuse;
+    private final Semaphore leases;
+    private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, Integer> useCounts = new ConcurrentHashMap<>();
+    private final Set<WebDriver> live = ConcurrentHashMap.newKeySet();
+
+    // Статистика для сравнения «до/после»
+    private final AtomicInteger launched = new AtomicInteger();
+    private final AtomicLong launchMillis = new AtomicLong();
+    private final AtomicInteger borrows = new AtomicInteger();
+    private final AtomicInteger discarded = new AtomicInteger();
+
+    public DriverPool(Supplier<WebDriver> factory, int size, int maxReuse) {
+        this(factory, size, maxReuse, driver -> { });
+    }
+
+    // prepare вызывается для каждой новой сессии и после каждой очистки, до первой навигации теста
+    public DriverPool(Supplier<WebDriver> factory, int size, int maxReuse, Consumer<WebDriver> prepare) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive, got: " + size);
+        }
+        this.factory = factory;
+        this.prepare = prepare;
+        this.maxReuse = Math.max(1, maxReuse);
+        this.leases = new Semaphore(size, true);
+    }
+
+    // Общий пул на всю JVM, настраивается через driver.pool.size и driver.pool.maxReuse
+    public static DriverPool shared() {
+        DriverPool pool = shared;
+        if (pool == null) {
+            synchronized (DriverPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    pool = new DriverPool(DriverFactory::createChrome,
+                            TestConfig.poolSize(), TestConfig.maxSessionReuse(),
+                            TestConfig.sessionState() ? SessionState::prepare : driver -> { });
+                    pool.warmUp(TestConfig.poolSize());
+                    Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "driver-pool-shutdown"));
+                    shared = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    // Запускаем браузеры параллельно, чтобы первый тест не ждал их по очереди
+    public void warmUp(int count) {
+        List<CompletableFuture<Void>> starts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            starts.add(CompletableFuture.runAsync(() -> idle.offer(launch())));
+        }
+        try {
+            CompletableFuture.allOf(starts.toArray(new CompletableFuture<?>[0])).join();
+        } catch (RuntimeException e) {
+            System.out.println("DriverPool warm-up incomplete: " + e.getMessage());
+        }
+    }
+
+    public WebDriver borrow() {
+        try {
+            leases.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+        try {
+            WebDriver driver = idle.poll();
+            if (driver == null) {
+                driver = launch();
+            }
+            borrows.incrementAndGet();
+            useCounts.merge(driver, 1, Integer::sum);
+            return driver;
+        } catch (RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+
+    // Возвращаем сессию: чистим состояние, а сломанные или изношенные сессии закрываем
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            if (useCounts.getOrDefault(driver, 0) >= maxReuse || !reset(driver)) {
+                discard(driver);
+            } else {
+                idle.offer(driver);
+            }
+        } finally {
+            leases.release();
+        }
+    }
+
+    public void shutdown() {
+        for (WebDriver driver : new ArrayList<>(live)) {
+            quitQuietly(driver);
+        }
+        live.clear();
+        idle.clear();
+        System.out.println("DriverPool: launched " + launched.get() + " sessions in " + launchMillis.get()
+                + " ms, served " + borrows.get() + " borrows, discarded " + discarded.get());
+    }
+
+    public int launchedSessions() {
+        return launched.get();
+    }
+
+    public int servedBorrows() {
+        return borrows.get();
+    }
+
+    private WebDriver launch() {
+        long start = System.nanoTime();
+        WebDriver driver = factory.get();
+        launchMillis.addAndGet((System.nanoTime() - start) / 1_000_000);
+        launched.incrementAndGet();
+        live.add(driver);
+        // Сессия, которую не удалось подготовить, никому не достанется: закрываем сразу, а не при выходе JVM
+        try {
+            prepare.accept(driver);
+        } catch (RuntimeException e) {
+            discard(driver);
+            throw e;
+        }
+        return driver;
+    }
+
+    private boolean reset(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.get("about:blank");
+            prepare.accept(driver);
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("Discarding broken browser session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        discarded.incrementAndGet();
+        useCounts.remove(driver);
+        quitQuietly(driver);
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        live.remove(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException ignored) {
+        }
+    }
+}
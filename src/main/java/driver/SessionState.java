@@ -0,0 +1,357 @@
+package driver;
+
+import config.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import waits.WaitEngine;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Состояние «куки уже приняты»: снимается один раз за прогон (куки + localStorage), хранится на диске
+// и подкладывается в каждую новую или очищенную сессию до первой навигации, чтобы тесты не ждали баннер.
+// Снимок публикуется целиком через future: сессии пула не ждут друг друга, пока одна из них его снимает
+public final class SessionState {
+    // Кука, которую сайт ставит после согласия с баннером
+    public static final String CONSENT_COOKIE = "Cartoshka";
+
+    private static final By CONSENT_BUTTON = By.id("rcc-confirm-button");
+    private static final By CONSENT_BANNER = By.className("App_CookieConsent__1yUIN");
+
+    private static final String READ_STORAGE_SCRIPT =
+            "var items = {};" +
+            "for (var i = 0; i < window.localStorage.length; i++) {" +
+            "  var key = window.localStorage.key(i); items[key] = window.localStorage.getItem(key);" +
+            "}" +
+            "return items;";
+
+    // Выполняется в каждом новом документе сессии, поэтому переживает очистку localStorage пулом
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "(function (origin, items) {" +
+            "  if (window.location.origin !== origin) { return; }" +
+            "  try { Object.keys(items).forEach(function (key) {" +
+            "    if (window.localStorage.getItem(key) === null) { window.localStorage.setItem(key, items[key]); }" +
+            "  }); } catch (e) {}" +
+            "})(%s, %s);";
+
+    private static volatile SessionState shared;
+
+    private final String baseUrl;
+    private final Path file;
+    private final Set<WebDriver> storageScriptInstalled = Collections.newSetFromMap(new WeakHashMap<>());
+    // Сессии без CDP, которые получат снимок на первой странице сайта
+    private final Set<WebDriver> injectOnNavigation = Collections.newSetFromMap(new WeakHashMap<>());
+    // null — снимка нет; незавершённый — его снимает одна из сессий; завершённый null — снять не удалось,
+    // до конца прогона не пытаемся снова, баннер закрывают page objects
+    private final AtomicReference<CompletableFuture<Snapshot>> snapshot = new AtomicReference<>();
+    private volatile boolean verified;
+
+    SessionState(String baseUrl, Path file) {
+        this.baseUrl = baseUrl;
+        this.file = file;
+    }
+
+    public static SessionState shared() {
+        SessionState state = shared;
+        if (state == null) {
+            synchronized (SessionState.class) {
+                state = shared;
+                if (state == null) {
+                    state = new SessionState(TestConfig.baseUrl(), TestConfig.sessionStateFile());
+                    state.load();
+                    shared = state;
+                }
+            }
+        }
+        return state;
+    }
+
+    // Для пула: новая или очищенная сессия сразу получает согласие с куки.
+    // Если снимка ещё нет, он снимается на этой же сессии
+    public static void prepare(WebDriver driver) {
+        try {
+            shared().applyTo(driver);
+        } catch (RuntimeException e) {
+            System.out.println("Session state not applied, cookie banner will be handled on the page: " + e.getMessage());
+        }
+    }
+
+    // Для page objects: переход на страницу. Сессия без CDP получает снимок здесь, на первой странице сайта
+    // после выдачи из пула, а не отдельной загрузкой главной при каждой очистке
+    public static void navigate(WebDriver driver, String url) {
+        driver.get(url);
+        SessionState state = shared;
+        if (state == null) {
+            return;
+        }
+        try {
+            state.injectAfterNavigation(driver, url);
+        } catch (RuntimeException e) {
+            System.out.println("Session state not applied, cookie banner will be handled on the page: " + e.getMessage());
+        }
+    }
+
+    // Для page objects: есть ли в браузере согласие. Первый раз после загрузки снимка ещё и проверяем,
+    // что баннер действительно не показывается; если показался — снимок негодный, снимем заново
+    public static boolean consentGiven(WebDriver driver) {
+        if (driver.manage().getCookieNamed(CONSENT_COOKIE) == null) {
+            return false;
+        }
+        SessionState state = shared;
+        if (state == null || state.verified) {
+            return true;
+        }
+        for (WebElement banner : driver.findElements(CONSENT_BANNER)) {
+            if (banner.isDisplayed()) {
+                state.invalidate();
+                return false;
+            }
+        }
+        state.verified = true;
+        return true;
+    }
+
+    public void applyTo(WebDriver driver) {
+        Snapshot current = published(driver);
+        if (current == null) {
+            return;
+        }
+        if (driver instanceof HasCdp) {
+            long start = System.nanoTime();
+            injectWithCdp((HasCdp) driver, current);
+            System.out.println("Session state applied in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } else {
+            synchronized (injectOnNavigation) {
+                injectOnNavigation.add(driver);
+            }
+        }
+    }
+
+    // Снимок негодный: забываем его и удаляем файл, следующая сессия снимет новый.
+    // Снимок, который сейчас снимается, не трогаем — он ещё не проверялся
+    public void invalidate() {
+        CompletableFuture<Snapshot> current = snapshot.get();
+        if (current == null || !current.isDone() || !snapshot.compareAndSet(current, null)) {
+            return;
+        }
+        System.out.println("Session state snapshot is stale, recapturing");
+        verified = false;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.out.println("Failed to delete session state " + file + ": " + e.getMessage());
+        }
+    }
+
+    // Готовый снимок или null. Если снимка нет, его снимает на своей сессии первый пришедший;
+    // остальные в это время не ждут и обходятся без снимка
+    private Snapshot published(WebDriver driver) {
+        CompletableFuture<Snapshot> current = snapshot.get();
+        if (current == null) {
+            CompletableFuture<Snapshot> capturing = new CompletableFuture<>();
+            if (snapshot.compareAndSet(null, capturing)) {
+                Snapshot captured = null;
+                try {
+                    captured = capture(driver);
+                } finally {
+                    capturing.complete(captured);
+                }
+                // На этой сессии согласие уже дано кликом
+                return null;
+            }
+            current = snapshot.get();
+        }
+        return current == null ? null : current.getNow(null);
+    }
+
+    private Snapshot capture(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            driver.get(baseUrl);
+            WaitEngine waits = new WaitEngine(driver, TestConfig.shortWaitTimeout());
+            WebElement button = waits.clickable(CONSENT_BUTTON);
+            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", button);
+            waits.until("cookie", d -> d.manage().getCookieNamed(CONSENT_COOKIE) != null);
+        } catch (RuntimeException e) {
+            // Иначе каждое возвращение сессии в пул снова открывало бы сайт и ждало баннер
+            System.out.println("Cookie banner not accepted while capturing session state, "
+                    + "falling back to clicking it in each test for the rest of the run: " + e.getMessage());
+            return null;
+        }
+
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            cookies.add(toMap(cookie));
+        }
+        Object storage = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        Snapshot captured = new Snapshot(cookies, storage instanceof Map ? castMap(storage) : new LinkedHashMap<>());
+        // Только что видели, что после клика баннер уходит
+        verified = true;
+        save(captured);
+        System.out.println("Session state captured in " + (System.nanoTime() - start) / 1_000_000 + " ms ("
+                + captured.cookies.size() + " cookies, " + captured.localStorage.size() + " localStorage keys)");
+        return captured;
+    }
+
+    private void injectWithCdp(HasCdp cdp, Snapshot current) {
+        for (Map<String, Object> cookie : current.cookies) {
+            Map<String, Object> params = new LinkedHashMap<>();
+            params.put("name", cookie.get("name"));
+            params.put("value", cookie.get("value"));
+            params.put("url", baseUrl);
+            params.put("path", cookie.getOrDefault("path", "/"));
+            params.put("secure", Boolean.TRUE.equals(cookie.get("secure")));
+            params.put("httpOnly", Boolean.TRUE.equals(cookie.get("httpOnly")));
+            if (cookie.get("expiry") instanceof Number) {
+                params.put("expires", ((Number) cookie.get("expiry")).longValue());
+            }
+            cdp.executeCdpCommand("Network.setCookie", params);
+        }
+        if (!current.localStorage.isEmpty()) {
+            synchronized (storageScriptInstalled) {
+                if (storageScriptInstalled.add((WebDriver) cdp)) {
+                    Json json = new Json();
+                    String source = String.format(RESTORE_STORAGE_SCRIPT, json.toJson(origin(baseUrl)),
+                            json.toJson(current.localStorage));
+                    cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", source));
+                }
+            }
+        }
+    }
+
+    // Без CDP (HtmlUnit, удалённые браузеры) куки можно поставить только на открытой странице сайта.
+    // Страница уже отрисовала баннер, поэтому после установки её перезагружаем
+    private void injectAfterNavigation(WebDriver driver, String url) {
+        if (!origin(baseUrl).equals(origin(url))) {
+            return;
+        }
+        synchronized (injectOnNavigation) {
+            if (!injectOnNavigation.remove(driver)) {
+                return;
+            }
+        }
+        Snapshot current = snapshot.get() == null ? null : snapshot.get().getNow(null);
+        if (current == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (Map<String, Object> cookie : current.cookies) {
+            Cookie.Builder builder = new Cookie.Builder(String.valueOf(cookie.get("name")), String.valueOf(cookie.get("value")))
+                    .path(String.valueOf(cookie.getOrDefault("path", "/")))
+                    .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")));
+            if (cookie.get("expiry") instanceof Number) {
+                builder.expiresOn(new Date(((Number) cookie.get("expiry")).longValue() * 1000));
+            }
+            driver.manage().addCookie(builder.build());
+        }
+        if (!current.localStorage.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(
+                    "var items = arguments[0]; Object.keys(items).forEach(function (key) {" +
+                    "  window.localStorage.setItem(key, items[key]); });", current.localStorage);
+        }
+        driver.navigate().refresh();
+        System.out.println("Session state applied on first navigation in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            Map<String, Object> saved = castMap(new Json().toType(
+                    Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE));
+            if (!baseUrl.equals(saved.get("baseUrl"))) {
+                System.out.println("Session state in " + file + " is for " + saved.get("baseUrl") + ", recapturing");
+                return;
+            }
+            List<Map<String, Object>> savedCookies = new ArrayList<>();
+            long now = Instant.now().getEpochSecond();
+            for (Object entry : (List<?>) saved.get("cookies")) {
+                Map<String, Object> cookie = castMap(entry);
+                if (cookie.get("expiry") instanceof Number && ((Number) cookie.get("expiry")).longValue() <= now) {
+                    System.out.println("Session state in " + file + " has expired cookies, recapturing");
+                    return;
+                }
+                savedCookies.add(cookie);
+            }
+            snapshot.set(CompletableFuture.completedFuture(
+                    new Snapshot(savedCookies, castMap(saved.get("localStorage")))));
+        } catch (IOException | JsonException | ClassCastException | NullPointerException e) {
+            System.out.println("Ignoring unreadable session state " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void save(Snapshot captured) {
+        Map<String, Object> saved = new LinkedHashMap<>();
+        saved.put("baseUrl", baseUrl);
+        saved.put("capturedAt", Instant.now().toString());
+        saved.put("cookies", captured.cookies);
+        saved.put("localStorage", captured.localStorage);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "session-state", ".tmp");
+            Files.writeString(temp, new Json().toJson(saved), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Failed to save session state to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static Map<String, Object> toMap(Cookie cookie) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", cookie.getName());
+        map.put("value", cookie.getValue());
+        map.put("path", cookie.getPath());
+        map.put("secure", cookie.isSecure());
+        map.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getExpiry() != null) {
+            map.put("expiry", cookie.getExpiry().getTime() / 1000);
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    private static final class Snapshot {
+        final List<Map<String, Object>> cookies;
+        final Map<String, Object> localStorage;
+
+        Snapshot(List<Map<String, Object>> cookies, Map<String, Object> localStorage) {
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+        }
+    }
+}
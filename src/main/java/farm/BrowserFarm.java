@@ -0,0 +1,484 @@
+package farm;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.TestConfig;
+import driver.DriverBinaryResolver;
+import driver.DriverFactory;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Локальная ферма браузеров: долгоживущий процесс с пулом прогретых headless-сессий за WebDriver-протоколом.
+// Тестовые JVM подключаются через RemoteWebDriver (-Ddriver.remote.url=http://localhost:4444/),
+// quit() не закрывает браузер, а возвращает сессию в пул. Запуск: mvn exec:java -Dexec.mainClass=farm.BrowserFarm
+public class BrowserFarm {
+    private final Json json = new Json();
+    private final WebDriverBackend backend;
+    private final Map<String, Object> capabilities;
+    private final int maxSessions;
+    private final int minIdle;
+    private final int maxReuse;
+    private final long maxMemoryMb;
+    private final Duration idleTimeout;
+    private final Duration leaseTimeout;
+    private final Duration queueTimeout;
+
+    private final Object lock = new Object();
+    private final Map<String, FarmSession> sessions = new HashMap<>();
+    // Свободные сессии: в начале недавно возвращённые (их и отдаём), в конце давно простаивающие (их и выселяем)
+    private final Deque<FarmSession> idle = new ArrayDeque<>();
+    private int launching;
+
+    private final AtomicInteger launched = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicInteger discarded = new AtomicInteger();
+    private final AtomicInteger refused = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private ScheduledExecutorService maintenance;
+
+    BrowserFarm(WebDriverBackend backend, Map<String, Object> capabilities, int maxSessions, int minIdle,
+                int maxReuse, long maxMemoryMb, Duration idleTimeout, Duration leaseTimeout, Duration queueTimeout) {
+        this.backend = backend;
+        this.capabilities = capabilities;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.minIdle = Math.max(0, Math.min(minIdle, this.maxSessions));
+        this.maxReuse = Math.max(1, maxReuse);
+        this.maxMemoryMb = maxMemoryMb;
+        this.idleTimeout = idleTimeout;
+        this.leaseTimeout = leaseTimeout;
+        this.queueTimeout = queueTimeout;
+    }
+
+    public static void main(String[] args) {
+        // Ферма работает без окон, если явно не попросили иначе
+        if (System.getProperty("driver.headless") == null) {
+            System.setProperty("driver.headless", "true");
+        }
+        ChromeDriverService service = null;
+        String backendUrl = TestConfig.farmBackendUrl();
+        if (backendUrl == null) {
+            service = new ChromeDriverService.Builder()
+                    .usingDriverExecutable(new File(DriverBinaryResolver.resolveChromeDriver()))
+                    .usingAnyFreePort()
+                    .build();
+            try {
+                service.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start chromedriver for the browser farm", e);
+            }
+            backendUrl = service.getUrl().toString();
+        }
+        // Память считается по процессам-потомкам фермы: браузеры чужого chromedriver в неё не попадают
+        long maxMemoryMb = TestConfig.farmMaxMemoryMb();
+        if (maxMemoryMb > 0 && (service == null || !ProcessMemory.supported())) {
+            System.out.println("farm.maxMemoryMb is disabled: " + (service == null
+                    ? "browsers of " + backendUrl + " are not child processes of the farm"
+                    : "process memory is only readable from /proc"));
+            maxMemoryMb = 0;
+        }
+        BrowserFarm farm = new BrowserFarm(new WebDriverBackend(backendUrl), DriverFactory.chromeOptions().asMap(),
+                TestConfig.farmSize(), TestConfig.farmMinIdle(), TestConfig.maxSessionReuse(), maxMemoryMb,
+                TestConfig.farmIdleTimeout(), TestConfig.farmLeaseTimeout(), TestConfig.farmQueueTimeout());
+        farm.start(TestConfig.farmPort(), TestConfig.farmHealthInterval());
+        ChromeDriverService ownService = service;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            farm.stop();
+            if (ownService != null) {
+                ownService.stop();
+            }
+        }, "browser-farm-shutdown"));
+        System.out.println("Browser farm listening on " + farm.url() + " (backend " + backendUrl + ", up to "
+                + farm.maxSessions + " browsers, " + farm.minIdle + " kept warm)");
+    }
+
+    public void start(int port, Duration healthInterval) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start browser farm on port " + port, e);
+        }
+        // Каждый клиент держит свой поток на время команды: очередь за сессией не должна блокировать чужие команды
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "browser-farm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "browser-farm-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Первый проход сразу: он же прогревает minIdle сессий
+        maintenance.scheduleWithFixedDelay(this::maintainSafely, 0, healthInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        maintenance.shutdownNow();
+        executor.shutdownNow();
+        server = null;
+        List<FarmSession> all;
+        synchronized (lock) {
+            all = new ArrayList<>(sessions.values());
+            sessions.clear();
+            idle.clear();
+            lock.notifyAll();
+        }
+        all.forEach(session -> backend.deleteSession(session.id()));
+        System.out.println("Browser farm stopped: " + stats());
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (lock) {
+            stats.put("sessions", sessions.size());
+            stats.put("idle", idle.size());
+            stats.put("leased", sessions.size() - idle.size());
+            stats.put("launching", launching);
+        }
+        stats.put("maxSessions", maxSessions);
+        stats.put("launched", launched.get());
+        stats.put("reused", reused.get());
+        stats.put("discarded", discarded.get());
+        stats.put("refused", refused.get());
+        stats.put("memoryMb", ProcessMemory.descendantsRssMb());
+        stats.put("maxMemoryMb", maxMemoryMb);
+        return stats;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getRawPath();
+            // Клиенты Selenium 3 по привычке ходят на /wd/hub
+            if (path.startsWith("/wd/hub")) {
+                path = path.substring("/wd/hub".length());
+            }
+            if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+
+            if (method.equals("GET") && path.equals("/status")) {
+                Map<String, Object> status = new LinkedHashMap<>(stats());
+                status.put("ready", true);
+                status.put("message", "Browser farm is ready");
+                sendJson(exchange, 200, Map.of("value", status));
+            } else if (method.equals("POST") && path.equals("/session")) {
+                handleNewSession(exchange);
+            } else if (path.startsWith("/session/")) {
+                String rest = path.substring("/session/".length());
+                int slash = rest.indexOf('/');
+                String id = slash < 0 ? rest : rest.substring(0, slash);
+                if (method.equals("DELETE") && slash < 0) {
+                    handleQuit(exchange, id);
+                } else {
+                    handleCommand(exchange, id, method, path, body);
+                }
+            } else {
+                sendError(exchange, 404, "unknown command", "Unknown command " + method + " " + path);
+            }
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "unknown error", String.valueOf(e.getMessage()));
+        }
+    }
+
+    // Возможности клиента не учитываются: все сессии фермы одинаковые, их задают настройки самой фермы
+    private void handleNewSession(HttpExchange exchange) throws IOException {
+        FarmSession session;
+        try {
+            session = acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(exchange, 500, "session not created", "Browser farm is shutting down");
+            return;
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "session not created", "Browser farm failed to start a browser: " + e.getMessage());
+            return;
+        }
+        if (session == null) {
+            refused.incrementAndGet();
+            sendError(exchange, 500, "session not created", "No free browser within " + queueTimeout.toMillis()
+                    + " ms: all " + maxSessions + " are leased or the memory limit is reached");
+            return;
+        }
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("sessionId", session.id());
+        value.put("capabilities", session.capabilities());
+        sendJson(exchange, 200, Map.of("value", value));
+    }
+
+    private void handleQuit(HttpExchange exchange, String id) throws IOException {
+        FarmSession session = leased(id);
+        if (session == null) {
+            sendError(exchange, 404, "invalid session id", "Unknown or expired session " + id);
+            return;
+        }
+        release(session);
+        send(exchange, 200, "application/json; charset=utf-8", "{\"value\":null}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleCommand(HttpExchange exchange, String id, String method, String path, byte[] body)
+            throws IOException {
+        FarmSession session = leased(id);
+        if (session == null) {
+            sendError(exchange, 404, "invalid session id", "Unknown or expired session " + id);
+            return;
+        }
+        session.touch();
+        HttpResponse<byte[]> response = backend.forward(method, path, body);
+        session.touch();
+        String contentType = response.headers().firstValue("Content-Type").orElse("application/json; charset=utf-8");
+        send(exchange, response.statusCode(), contentType, response.body());
+    }
+
+    private FarmSession leased(String id) {
+        synchronized (lock) {
+            FarmSession session = sessions.get(id);
+            return session != null && session.isLeased() ? session : null;
+        }
+    }
+
+    // Свободная сессия, новый браузер, если есть место, или ожидание в очереди; null — очередь не дождалась
+    FarmSession acquire() throws InterruptedException {
+        long deadline = System.nanoTime() + queueTimeout.toNanos();
+        synchronized (lock) {
+            while (true) {
+                FarmSession session = idle.pollFirst();
+                if (session != null) {
+                    session.lease();
+                    reused.incrementAndGet();
+                    return session;
+                }
+                if (canLaunch()) {
+                    launching++;
+                    break;
+                }
+                long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (left <= 0) {
+                    return null;
+                }
+                lock.wait(left);
+            }
+        }
+        FarmSession session = null;
+        try {
+            session = launch();
+            session.lease();
+            return session;
+        } finally {
+            synchronized (lock) {
+                launching--;
+                if (session != null) {
+                    sessions.put(session.id(), session);
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Сессия возвращается в пул после очистки; сломанная или отработавшая своё закрывается
+    void release(FarmSession session) {
+        session.touch();
+        boolean reusable = session.leases() < maxReuse && backend.reset(session.id());
+        synchronized (lock) {
+            if (sessions.get(session.id()) != session || !session.isLeased()) {
+                return;
+            }
+            if (reusable) {
+                session.returnToPool();
+                idle.addFirst(session);
+            } else {
+                sessions.remove(session.id());
+            }
+            lock.notifyAll();
+        }
+        if (!reusable) {
+            discard(session, "used " + session.leases() + " times or failed to reset");
+        }
+    }
+
+    private boolean canLaunch() {
+        if (sessions.size() + launching >= maxSessions) {
+            return false;
+        }
+        // Последний браузер запускаем всегда, иначе посторонний потребитель памяти остановил бы ферму
+        return (sessions.isEmpty() && launching == 0) || !overMemory();
+    }
+
+    private boolean overMemory() {
+        if (maxMemoryMb <= 0) {
+            return false;
+        }
+        long memory = ProcessMemory.descendantsRssMb();
+        return memory >= 0 && memory >= maxMemoryMb;
+    }
+
+    private FarmSession launch() {
+        Map<String, Object> created = backend.newSession(capabilities);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> caps = created.get("capabilities") instanceof Map
+                ? (Map<String, Object>) created.get("capabilities") : Map.of();
+        launched.incrementAndGet();
+        return new FarmSession(String.valueOf(created.get("sessionId")), caps);
+    }
+
+    private void discard(FarmSession session, String reason) {
+        discarded.incrementAndGet();
+        System.out.println("Closing farm session " + session.id() + ": " + reason);
+        backend.deleteSession(session.id());
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            System.out.println("Browser farm maintenance failed: " + e.getMessage());
+        }
+    }
+
+    // Обслуживание по расписанию: забрать брошенные аренды, проверить и выселить простаивающие, догреть minIdle
+    void maintain() {
+        List<FarmSession> expired = new ArrayList<>();
+        List<FarmSession> evicted = new ArrayList<>();
+        List<FarmSession> idleSnapshot;
+        synchronized (lock) {
+            // Клиент упал, не вызвав quit(): сессия слишком долго без команд
+            for (Iterator<FarmSession> it = sessions.values().iterator(); it.hasNext(); ) {
+                FarmSession session = it.next();
+                if (session.isLeased() && session.millisSinceActivity() > leaseTimeout.toMillis()) {
+                    it.remove();
+                    expired.add(session);
+                }
+            }
+            idleSnapshot = new ArrayList<>(idle);
+        }
+        expired.forEach(session -> discard(session, "lease abandoned"));
+
+        // Проверка здоровья идёт без блокировки; выбрасываем сессию, только если её никто не успел взять
+        for (FarmSession session : idleSnapshot) {
+            if (!backend.ping(session.id())) {
+                boolean removed;
+                synchronized (lock) {
+                    removed = idle.remove(session);
+                    if (removed) {
+                        sessions.remove(session.id());
+                    }
+                }
+                if (removed) {
+                    discard(session, "health check failed");
+                }
+            }
+        }
+
+        synchronized (lock) {
+            while (idle.size() > minIdle && idle.peekLast().millisSinceActivity() > idleTimeout.toMillis()) {
+                FarmSession session = idle.pollLast();
+                sessions.remove(session.id());
+                evicted.add(session);
+            }
+            if (overMemory() && !idle.isEmpty()) {
+                // Замер памяти обновится не сразу, поэтому считаем, сколько браузеров надо закрыть, по среднему на сессию
+                long memory = ProcessMemory.descendantsRssMb();
+                long perSession = Math.max(1, memory / Math.max(1, sessions.size()));
+                long toEvict = Math.min(idle.size(), (memory - maxMemoryMb + perSession - 1) / perSession);
+                for (long i = 0; i < toEvict; i++) {
+                    FarmSession session = idle.pollLast();
+                    sessions.remove(session.id());
+                    evicted.add(session);
+                }
+            }
+        }
+        evicted.forEach(session -> discard(session, "idle eviction"));
+
+        refill();
+    }
+
+    private void refill() {
+        int toLaunch;
+        synchronized (lock) {
+            toLaunch = Math.min(minIdle - idle.size() - launching, maxSessions - sessions.size() - launching);
+            if (toLaunch <= 0 || overMemory()) {
+                return;
+            }
+            launching += toLaunch;
+        }
+        for (int i = 0; i < toLaunch; i++) {
+            FarmSession session = null;
+            try {
+                session = launch();
+            } catch (RuntimeException e) {
+                System.out.println("Failed to warm up a farm browser: " + e.getMessage());
+            } finally {
+                synchronized (lock) {
+                    launching--;
+                    if (session != null) {
+                        sessions.put(session.id(), session);
+                        idle.addFirst(session);
+                    }
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String error, String message) throws IOException {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("error", error);
+        value.put("message", message);
+        value.put("stacktrace", "");
+        sendJson(exchange, status, Map.of("value", value));
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", json.toJson(body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package farm;
+
+import java.util.Map;
+
+// Один тёплый браузер фермы: сессия в chromedriver, которую по очереди арендуют тестовые JVM
+class FarmSession {
+    private final String id;
+    private final Map<String, Object> capabilities;
+    private final long createdAt = System.currentTimeMillis();
+    private volatile boolean leased;
+    private volatile long lastActivity = System.currentTimeMillis();
+    private volatile int leases;
+
+    FarmSession(String id, Map<String, Object> capabilities) {
+        this.id = id;
+        this.capabilities = capabilities;
+    }
+
+    String id() {
+        return id;
+    }
+
+    Map<String, Object> capabilities() {
+        return capabilities;
+    }
+
+    boolean isLeased() {
+        return leased;
+    }
+
+    void lease() {
+        leased = true;
+        leases++;
+        touch();
+    }
+
+    void returnToPool() {
+        leased = false;
+        touch();
+    }
+
+    // Каждая команда клиента продлевает аренду; у свободной сессии это время начала простоя
+    void touch() {
+        lastActivity = System.currentTimeMillis();
+    }
+
+    long millisSinceActivity() {
+        return System.currentTimeMillis() - lastActivity;
+    }
+
+    int leases() {
+        return leases;
+    }
+
+    long ageMillis() {
+        return System.currentTimeMillis() - createdAt;
+    }
+}
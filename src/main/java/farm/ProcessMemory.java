@@ -0,0 +1,51 @@
+package farm;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Память браузеров фермы: сумма RSS всех процессов-потомков JVM (chromedriver и chrome) по /proc.
+// Вне Linux /proc нет, тогда память неизвестна и предел не применяется
+final class ProcessMemory {
+    private static volatile long cachedAt;
+    private static volatile long cachedMb = -1;
+
+    private ProcessMemory() {
+    }
+
+    static boolean supported() {
+        return Files.isDirectory(Path.of("/proc/self"));
+    }
+
+    // Замер не чаще раза в секунду: его спрашивает каждая попытка запустить браузер
+    static long descendantsRssMb() {
+        long now = System.currentTimeMillis();
+        if (now - cachedAt < 1000 && cachedMb >= 0) {
+            return cachedMb;
+        }
+        if (!supported()) {
+            return -1;
+        }
+        long totalKb = ProcessHandle.current().descendants()
+                .mapToLong(process -> rssKb(process.pid()))
+                .sum();
+        cachedMb = totalKb / 1024;
+        cachedAt = now;
+        return cachedMb;
+    }
+
+    private static long rssKb(long pid) {
+        try {
+            List<String> lines = Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"));
+            for (String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Процесс успел завершиться
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,110 @@
+package farm;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// Клиент WebDriver-протокола к chromedriver, в котором живут сессии фермы.
+// Ферма говорит с ним сырым HTTP: команды клиентов пересылаются как есть, без разбора
+class WebDriverBackend {
+    private final Json json = new Json();
+    private final HttpClient http;
+    private final String endpoint;
+
+    WebDriverBackend(String endpoint) {
+        this.endpoint = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    // Новая сессия с возможностями фермы; возвращает value ответа: sessionId и capabilities
+    Map<String, Object> newSession(Map<String, Object> capabilities) {
+        Map<String, Object> body = Map.of("capabilities", Map.of("alwaysMatch", capabilities));
+        HttpResponse<byte[]> response = send("POST", "/session", json.toJson(body).getBytes(StandardCharsets.UTF_8), null);
+        Map<String, Object> value = value(response);
+        if (response.statusCode() != 200 || !value.containsKey("sessionId")) {
+            throw new IllegalStateException("Backend refused a new session: " + value.get("message"));
+        }
+        return value;
+    }
+
+    // Очистка между арендами: хранилища и куки текущего сайта, затем пустая страница
+    boolean reset(String sessionId) {
+        try {
+            return command(sessionId, "POST", "/execute/sync", Map.of("script",
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}", "args", List.of()))
+                    && command(sessionId, "DELETE", "/cookie", null)
+                    && command(sessionId, "POST", "/url", Map.of("url", "about:blank"));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // Проверка живости: браузер отвечает на простую команду
+    boolean ping(String sessionId) {
+        try {
+            return command(sessionId, "GET", "/title", null);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    void deleteSession(String sessionId) {
+        try {
+            send("DELETE", "/session/" + sessionId, null, Duration.ofSeconds(30));
+        } catch (RuntimeException e) {
+            System.out.println("Failed to close farm session " + sessionId + ": " + e.getMessage());
+        }
+    }
+
+    // Пересылка команды клиента без изменений; таймаут не ставим — асинхронные скрипты могут идти долго
+    HttpResponse<byte[]> forward(String method, String path, byte[] body) {
+        return send(method, path, body, null);
+    }
+
+    private boolean command(String sessionId, String method, String path, Object body) {
+        byte[] payload = body == null ? null : json.toJson(body).getBytes(StandardCharsets.UTF_8);
+        return send(method, "/session/" + sessionId + path, payload, Duration.ofSeconds(30)).statusCode() == 200;
+    }
+
+    private HttpResponse<byte[]> send(String method, String path, byte[] body, Duration timeout) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(endpoint + path))
+                .header("Content-Type", "application/json; charset=utf-8")
+                .method(method, body == null || body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (timeout != null) {
+            request.timeout(timeout);
+        }
+        try {
+            return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("WebDriver backend " + endpoint + " unavailable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while talking to " + endpoint, e);
+        }
+    }
+
+    private Map<String, Object> value(HttpResponse<byte[]> response) {
+        Map<String, Object> parsed = json.toType(new String(response.body(), StandardCharsets.UTF_8), Json.MAP_TYPE);
+        Object value = parsed.get("value");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = value instanceof Map ? (Map<String, Object>) value : Map.of();
+        return map;
+    }
+}
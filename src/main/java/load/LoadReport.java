@@ -0,0 +1,143 @@
+package load;
+
+import metrics.LatencyHistogram;
+import metrics.Metrics;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Итоги нагрузочного прогона: пропускная способность, доля ошибок, задержки сценария и его шагов
+public class LoadReport {
+    // Имя, под которым шаги сценария копятся в Metrics
+    public static final String METRICS_TEST = "load:order-journey";
+
+    // Разных текстов ошибок храним не больше стольких, остальные идут в «прочие»
+    private static final int MAX_ERROR_KINDS = 20;
+
+    private final int users;
+    private final int browsers;
+    private final LatencyHistogram journeys = new LatencyHistogram();
+    private final LatencyHistogram browserWaits = new LatencyHistogram();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public LoadReport(int users, int browsers) {
+        this.users = users;
+        this.browsers = browsers;
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    // Сколько пользователь ждал свободный браузер
+    void recordBrowserWait(long nanos) {
+        browserWaits.record(nanos);
+    }
+
+    void recordSuccess(long nanos) {
+        journeys.record(nanos);
+        completed.incrementAndGet();
+    }
+
+    void recordFailure(long nanos, Throwable error) {
+        journeys.record(nanos);
+        failed.incrementAndGet();
+        String message = error.getClass().getSimpleName() + ": " + firstLine(error.getMessage());
+        if (errors.size() >= MAX_ERROR_KINDS && !errors.containsKey(message)) {
+            message = "(other errors)";
+        }
+        errors.computeIfAbsent(message, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public int getCompleted() {
+        return completed.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public long getElapsedMillis() {
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        return (end - startNanos) / 1_000_000;
+    }
+
+    public double getOrdersPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : completed.get() * 1000.0 / elapsed;
+    }
+
+    public double getErrorRate() {
+        int total = completed.get() + failed.get();
+        return total == 0 ? 0 : (double) failed.get() / total;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> steps = new TreeMap<>();
+        Metrics.histograms(METRICS_TEST).forEach((metric, histogram) -> {
+            if (metric.startsWith(Metrics.PAGE)) {
+                steps.put(metric.substring(Metrics.PAGE.length()), histogram.summary());
+            }
+        });
+        Map<String, Object> errorCounts = new TreeMap<>();
+        errors.forEach((message, count) -> errorCounts.put(message, count.get()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("users", users);
+        report.put("browsers", browsers);
+        report.put("elapsedMs", getElapsedMillis());
+        report.put("completed", completed.get());
+        report.put("failed", failed.get());
+        report.put("ordersPerSecond", Math.round(getOrdersPerSecond() * 1000) / 1000.0);
+        report.put("errorRate", Math.round(getErrorRate() * 10000) / 10000.0);
+        report.put("journey", journeys.summary());
+        report.put("browserWait", browserWaits.summary());
+        report.put("steps", steps);
+        report.put("errors", errorCounts);
+        return report;
+    }
+
+    public Path write(Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write(new Json().toJson(toMap()));
+        }
+        return output;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Load: %d users on %d browsers, %d orders in %d ms (%.2f orders/s), %d failed (%.1f%%), journey p50 %.0f ms, p95 %.0f ms",
+                users, browsers, completed.get(), getElapsedMillis(), getOrdersPerSecond(), failed.get(),
+                getErrorRate() * 100, journeys.percentileNanos(50) / 1e6, journeys.percentileNanos(95) / 1e6);
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+}
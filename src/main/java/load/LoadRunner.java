@@ -0,0 +1,171 @@
+package load;
+
+import config.TestConfig;
+import data.OrderScenario;
+import data.OrderScenarios;
+import driver.DriverFactory;
+import driver.DriverPool;
+import driver.SessionState;
+import metrics.Metrics;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Нагрузочный режим: виртуальные пользователи проходят сценарий заказа на общем ограниченном наборе браузеров.
+// Пользователь — это не поток, а задача: во время паузы он браузер не держит, планировщик ставит его
+// следующий заказ в очередь, а очередь разбирают потоки по одному на браузер.
+// Запуск: mvn compile exec:java -Dexec.mainClass=load.LoadRunner -Dscooter.stub=true -Dload.users=20
+public class LoadRunner {
+    private final Supplier<WebDriver> browserFactory;
+    private final int users;
+    private final int browsers;
+    private final Duration rampUp;
+    private final Duration thinkTime;
+    private final Duration duration;
+    private final BiConsumer<WebDriver, OrderScenario> journey;
+    private final LongSupplier clock;
+    private final Iterator<OrderScenario> orders = OrderScenarios.random(TestConfig.dataSeed()).iterator();
+
+    public LoadRunner(Supplier<WebDriver> browserFactory, int users, int browsers,
+                      Duration rampUp, Duration thinkTime, Duration duration) {
+        this(browserFactory, new OrderJourney()::run, System::nanoTime, users, browsers, rampUp, thinkTime, duration);
+    }
+
+    // Сценарий и часы (наносекунды, как System.nanoTime) подменяются в тестах планировщика:
+    // по часам считаются конец нагрузки и длительности, паузы планировщика остаются настоящими
+    LoadRunner(Supplier<WebDriver> browserFactory, BiConsumer<WebDriver, OrderScenario> journey, LongSupplier clock,
+               int users, int browsers, Duration rampUp, Duration thinkTime, Duration duration) {
+        this.browserFactory = browserFactory;
+        this.journey = journey;
+        this.clock = clock;
+        this.users = users;
+        this.browsers = browsers;
+        this.rampUp = rampUp;
+        this.thinkTime = thinkTime;
+        this.duration = duration;
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Каждый сценарий оформляет настоящий заказ: сайт по умолчанию нагружать нельзя
+        if (!TestConfig.baseUrlConfigured()) {
+            throw new IllegalStateException("Load runs place real orders: pass -Dscooter.stub=true for the local "
+                    + "stand-in or -Dscooter.baseUrl=<staging host>. Refusing to load " + TestConfig.DEFAULT_BASE_URL);
+        }
+        // Нагрузка идёт без окон, если явно не попросили иначе
+        if (System.getProperty("driver.headless") == null) {
+            System.setProperty("driver.headless", "true");
+        }
+        LoadRunner runner = new LoadRunner(DriverFactory::createChrome, TestConfig.loadUsers(), TestConfig.loadBrowsers(),
+                TestConfig.loadRampUp(), TestConfig.loadThinkTime(), TestConfig.loadDuration());
+        LoadReport report = runner.run();
+        System.out.println(report);
+        System.out.println("Load report written to " + report.write(TestConfig.loadReportFile()).toAbsolutePath());
+        System.exit(report.getCompleted() > 0 ? 0 : 1);
+    }
+
+    public LoadReport run() throws InterruptedException {
+        LoadReport report = new LoadReport(users, browsers);
+        DriverPool pool = new DriverPool(browserFactory, browsers, TestConfig.maxSessionReuse(),
+                TestConfig.sessionState() ? SessionState::prepare : driver -> { });
+        System.out.println("Starting " + browsers + " browsers for " + users + " virtual users");
+        pool.warmUp(browsers);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                r -> new Thread(r, "load-scheduler"));
+        // Потоков столько же, сколько браузеров: взятие сессии из пула никогда не блокируется
+        ExecutorService workers = Executors.newFixedThreadPool(browsers,
+                r -> new Thread(r, "load-browser-" + threadNumber.incrementAndGet()));
+        CountDownLatch stopped = new CountDownLatch(users);
+        report.start();
+        long deadline = clock.getAsLong() + duration.toNanos();
+        try {
+            for (int user = 0; user < users; user++) {
+                scheduler.schedule(() -> enqueue(workers, scheduler, pool, report, stopped, deadline),
+                        startDelayMillis(rampUp, user, users), TimeUnit.MILLISECONDS);
+            }
+            // Начатые к концу сценарии дорабатывают, но не дольше обычного ожидания ответа сервера
+            if (!stopped.await(duration.toMillis() + TestConfig.longWaitTimeout().toMillis() * 2, TimeUnit.MILLISECONDS)) {
+                System.out.println("Load run stopped with " + stopped.getCount() + " users still busy");
+            }
+        } finally {
+            report.finish();
+            scheduler.shutdownNow();
+            workers.shutdownNow();
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+            pool.shutdown();
+        }
+        return report;
+    }
+
+    // Пользователь user из users стартует через такую долю разгона
+    static long startDelayMillis(Duration rampUp, int user, int users) {
+        return rampUp.toMillis() * user / users;
+    }
+
+    // Следующий заказ пользователя встаёт в очередь к браузерам; после конца нагрузки пользователь уходит
+    private void enqueue(ExecutorService workers, ScheduledExecutorService scheduler, DriverPool pool,
+                         LoadReport report, CountDownLatch stopped, long deadline) {
+        if (clock.getAsLong() >= deadline) {
+            stopped.countDown();
+            return;
+        }
+        long queued = clock.getAsLong();
+        workers.execute(() -> {
+            // Пользователь уходит всегда, кроме случая, когда следующий заказ уже запланирован:
+            // даже Error из сценария не оставит run() ждать его до таймаута
+            boolean scheduled = false;
+            try {
+                report.recordBrowserWait(clock.getAsLong() - queued);
+                runJourney(pool, report);
+                long pause = Math.round(thinkTime.toMillis() * ThreadLocalRandom.current().nextDouble(0.5, 1.5));
+                // Следующий заказ пришёлся бы уже после конца нагрузки: пользователь уходит сразу, не досыпая паузу
+                if (clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(pause) < deadline) {
+                    scheduler.schedule(() -> enqueue(workers, scheduler, pool, report, stopped, deadline),
+                            pause, TimeUnit.MILLISECONDS);
+                    scheduled = true;
+                }
+            } catch (RejectedExecutionException e) {
+                // Прогон уже остановлен по таймауту
+            } finally {
+                if (!scheduled) {
+                    stopped.countDown();
+                }
+            }
+        });
+    }
+
+    private void runJourney(DriverPool pool, LoadReport report) {
+        Metrics.startTest(LoadReport.METRICS_TEST);
+        long start = clock.getAsLong();
+        WebDriver driver = null;
+        try {
+            driver = pool.borrow();
+            journey.accept(driver, nextOrder());
+            report.recordSuccess(clock.getAsLong() - start);
+        } catch (RuntimeException | AssertionError e) {
+            report.recordFailure(clock.getAsLong() - start, e);
+        } finally {
+            pool.release(driver);
+            Metrics.finishTest();
+        }
+    }
+
+    private OrderScenario nextOrder() {
+        synchronized (orders) {
+            return orders.next();
+        }
+    }
+}
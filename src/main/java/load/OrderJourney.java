@@ -0,0 +1,43 @@
+package load;
+
+import data.OrderScenario;
+import org.openqa.selenium.WebDriver;
+import pages.MainPage;
+import pages.OrderPage;
+import pages.StatusPage;
+
+// Сценарий одного пользователя: оформить заказ через верхнюю кнопку и найти его на странице статуса.
+// Шаги замеряют сами page objects (Metrics.step), здесь только последовательность
+public class OrderJourney {
+
+    // Возвращает номер оформленного заказа; любая ошибка шага — исключение
+    public String run(WebDriver driver, OrderScenario order) {
+        MainPage mainPage = new MainPage(driver);
+        OrderPage orderPage = new OrderPage(driver);
+        StatusPage statusPage = new StatusPage(driver);
+
+        mainPage.open();
+        mainPage.acceptCookies();
+        mainPage.clickOrderButton(true);
+
+        orderPage.fillUserForm(order.getName(), order.getSurname(), order.getAddress(),
+                order.getMetroStation(), order.getPhone());
+        orderPage.clickNextButton();
+        orderPage.fillDeliveryForm(order.getDate(), order.getRentalPeriod(), order.getColor(), order.getComment());
+        orderPage.submitOrder();
+        orderPage.confirmOrder();
+
+        String track = orderPage.getOrderNumber();
+        if (track == null) {
+            throw new IllegalStateException("Order confirmation shows no order number");
+        }
+
+        mainPage.open();
+        mainPage.clickStatusButton();
+        statusPage.checkOrderStatus(track);
+        if (!statusPage.isOrderFound()) {
+            throw new IllegalStateException("Order " + track + " not found on the status page");
+        }
+        return track;
+    }
+}
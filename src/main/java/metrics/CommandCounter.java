@@ -0,0 +1,32 @@
+package metrics;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Считает обращения к браузеру через обёрнутый драйвер (EventFiringDecorator)
+public class CommandCounter implements WebDriverListener {
+    // Эти методы только возвращают локальные объекты и в браузер не ходят
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private final AtomicLong commands = new AtomicLong();
+
+    public static boolean isRemoteCall(Method method) {
+        return !LOCAL_METHODS.contains(method.getName());
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isRemoteCall(method)) {
+            commands.incrementAndGet();
+        }
+    }
+
+    public long count() {
+        return commands.get();
+    }
+}
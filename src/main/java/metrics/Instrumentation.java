@@ -0,0 +1,28 @@
+package metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Обёртка драйвера для page objects: замер команд плюс дополнительные слушатели
+public final class Instrumentation {
+    private static final TimingListener TIMING = new TimingListener();
+
+    private Instrumentation() {
+    }
+
+    public static WebDriver wrap(WebDriver driver, WebDriverListener... extra) {
+        List<WebDriverListener> listeners = new ArrayList<>(Arrays.asList(extra));
+        if (Metrics.enabled()) {
+            listeners.add(TIMING);
+        }
+        if (listeners.isEmpty()) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(driver);
+    }
+}
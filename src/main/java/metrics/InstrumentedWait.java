@@ -0,0 +1,26 @@
+package metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// WebDriverWait, который отдельно учитывает время ожидания между опросами и время самих команд
+public class InstrumentedWait extends WebDriverWait {
+
+    public InstrumentedWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        Metrics.WaitFrame frame = Metrics.beginWait();
+        long start = System.nanoTime();
+        try {
+            return super.until(isTrue);
+        } finally {
+            Metrics.endWait(frame, System.nanoTime() - start);
+        }
+    }
+}
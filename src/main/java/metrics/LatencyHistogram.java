@@ -0,0 +1,97 @@
+package metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Гистограмма замеров в наносекундах с логарифмическими корзинами: каждая степень двойки делится
+// на 16 равных частей, поэтому перцентиль отличается от точного не больше чем на ~3%.
+// Память не зависит от числа замеров: строки корзин заводятся только для встретившихся порядков
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // Строка на каждый порядок величины (номер старшего бита); значения меньше 16 нс — в нулевой строке как есть
+    private final long[][] counts = new long[64][];
+    private int size;
+    private long total;
+    private long max;
+
+    public synchronized void record(long nanos) {
+        long value = Math.max(0, nanos);
+        int row = row(value);
+        if (counts[row] == null) {
+            counts[row] = new long[SUB_BUCKETS];
+        }
+        counts[row][subBucket(value, row)]++;
+        size++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    public synchronized int count() {
+        return size;
+    }
+
+    public synchronized long totalNanos() {
+        return total;
+    }
+
+    // Перцентиль по методу ближайшего ранга, p от 0 до 100: середина корзины, куда попал ранг
+    public synchronized long percentileNanos(double p) {
+        if (size == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, Math.min(size, (long) Math.ceil(p / 100.0 * size)));
+        long seen = 0;
+        for (int row = 0; row < counts.length; row++) {
+            if (counts[row] == null) {
+                continue;
+            }
+            for (int sub = 0; sub < SUB_BUCKETS; sub++) {
+                seen += counts[row][sub];
+                if (seen >= rank) {
+                    return Math.min(max, lowerBound(row, sub) + width(row) / 2);
+                }
+            }
+        }
+        return max;
+    }
+
+    public synchronized long maxNanos() {
+        return max;
+    }
+
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count());
+        summary.put("totalMs", millis(totalNanos()));
+        summary.put("p50Ms", millis(percentileNanos(50)));
+        summary.put("p95Ms", millis(percentileNanos(95)));
+        summary.put("p99Ms", millis(percentileNanos(99)));
+        summary.put("maxMs", millis(maxNanos()));
+        return summary;
+    }
+
+    private static int row(long value) {
+        if (value < SUB_BUCKETS) {
+            return 0;
+        }
+        return 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+    }
+
+    private static int subBucket(long value, int row) {
+        return row == 0 ? (int) value : (int) ((value >> (row - 1)) & (SUB_BUCKETS - 1));
+    }
+
+    private static long width(int row) {
+        return row == 0 ? 1 : 1L << (row - 1);
+    }
+
+    private static long lowerBound(int row, int sub) {
+        return row == 0 ? sub : (1L << (row + SUB_BUCKET_BITS - 1)) + sub * width(row);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,166 @@
+package metrics;
+
+import config.TestConfig;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Сбор задержек по тестам: команды WebDriver, методы page objects и ожидания.
+// В конце прогона всё выгружается в JSON (metrics.output, по умолчанию target/latency-report.json)
+public final class Metrics {
+    public static final String COMMAND = "command:";
+    public static final String PAGE = "page:";
+    public static final String WAIT_TOTAL = "wait:until";
+    public static final String WAIT_POLLING = "wait:polling";
+    public static final String WAIT_CONDITION = "wait:condition:";
+    public static final String WAIT_FALLBACK = "wait:fallback:";
+
+    private static final String NO_TEST = "(outside tests)";
+    private static final Map<String, Map<String, LatencyHistogram>> TESTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+    private static final ThreadLocal<WaitFrame> CURRENT_WAIT = new ThreadLocal<>();
+    private static final AtomicBoolean EXPORT_HOOK = new AtomicBoolean();
+
+    private Metrics() {
+    }
+
+    public static boolean enabled() {
+        return TestConfig.metricsEnabled();
+    }
+
+    // Все замеры этого потока до finishTest() относятся к указанному тесту
+    public static void startTest(String testName) {
+        CURRENT_TEST.set(testName);
+        TESTS.computeIfAbsent(testName, name -> new ConcurrentHashMap<>());
+        if (EXPORT_HOOK.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(Metrics::exportQuietly, "metrics-export"));
+        }
+    }
+
+    public static void finishTest() {
+        CURRENT_TEST.remove();
+    }
+
+    public static void record(String metric, long nanos) {
+        if (!enabled()) {
+            return;
+        }
+        String test = CURRENT_TEST.get();
+        TESTS.computeIfAbsent(test == null ? NO_TEST : test, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(metric, name -> new LatencyHistogram())
+                .record(nanos);
+    }
+
+    // Замер публичного метода page object
+    public static void step(String name, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            record(PAGE + name, System.nanoTime() - start);
+        }
+    }
+
+    public static <T> T step(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(PAGE + name, System.nanoTime() - start);
+        }
+    }
+
+    // Команда WebDriver; если идёт ожидание, её время вычитается из времени опроса
+    static void recordCommand(String name, long nanos) {
+        record(COMMAND + name, nanos);
+        WaitFrame frame = CURRENT_WAIT.get();
+        if (frame != null) {
+            frame.commandNanos += nanos;
+        }
+    }
+
+    static WaitFrame beginWait() {
+        WaitFrame frame = new WaitFrame(CURRENT_WAIT.get());
+        CURRENT_WAIT.set(frame);
+        return frame;
+    }
+
+    static void endWait(WaitFrame frame, long totalNanos) {
+        if (frame.parent == null) {
+            CURRENT_WAIT.remove();
+        } else {
+            CURRENT_WAIT.set(frame.parent);
+            frame.parent.commandNanos += frame.commandNanos;
+        }
+        record(WAIT_TOTAL, totalNanos);
+        record(WAIT_POLLING, Math.max(0, totalNanos - frame.commandNanos));
+    }
+
+    public static Map<String, LatencyHistogram> histograms(String testName) {
+        return TESTS.getOrDefault(testName, Map.of());
+    }
+
+    public static Map<String, Object> report() {
+        Map<String, Object> tests = new TreeMap<>();
+        TESTS.forEach((test, metrics) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            long roundTrips = 0;
+            Map<String, Object> summaries = new TreeMap<>();
+            for (Map.Entry<String, LatencyHistogram> metric : metrics.entrySet()) {
+                summaries.put(metric.getKey(), metric.getValue().summary());
+                if (metric.getKey().startsWith(COMMAND)) {
+                    roundTrips += metric.getValue().count();
+                }
+            }
+            entry.put("roundTrips", roundTrips);
+            entry.put("metrics", summaries);
+            tests.put(test, entry);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("tests", tests);
+        return report;
+    }
+
+    public static Path export() throws IOException {
+        Path output = TestConfig.metricsOutput();
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write(new Json().toJson(report()));
+        }
+        return output;
+    }
+
+    private static void exportQuietly() {
+        if (!enabled() || TESTS.isEmpty()) {
+            return;
+        }
+        try {
+            System.out.println("Latency report written to " + export().toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Failed to write latency report: " + e.getMessage());
+        }
+    }
+
+    static final class WaitFrame {
+        final WaitFrame parent;
+        long commandNanos;
+
+        WaitFrame(WaitFrame parent) {
+            this.parent = parent;
+        }
+    }
+}
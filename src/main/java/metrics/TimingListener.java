@@ -0,0 +1,38 @@
+package metrics;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Замеряет каждую команду WebDriver, прошедшую через обёрнутый драйвер
+public class TimingListener implements WebDriverListener {
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (CommandCounter.isRemoteCall(method)) {
+            starts.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private void finish(Method method) {
+        Deque<Long> stack = starts.get();
+        if (CommandCounter.isRemoteCall(method) && !stack.isEmpty()) {
+            Metrics.recordCommand(method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                    System.nanoTime() - stack.pop());
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package network;
+
+import config.TestConfig;
+import metrics.LatencyHistogram;
+import metrics.Metrics;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Перехват сети через DevTools. В быстром профиле (driver.fast) ненужные ресурсы подменяются заглушками,
+// при network.report без быстрого профиля трафик только считается — это базовая линия для сравнения.
+// По каждому тесту: запросы, заблокированные запросы, байты и время открытия страницы
+public final class NetworkProfile {
+    private static final String PAGE_LOAD = Metrics.PAGE + "MainPage.open";
+
+    // Прозрачный GIF 1x1: у картинки остаются размеры, onerror не срабатывает
+    private static final byte[] TRANSPARENT_GIF =
+            Base64.getDecoder().decode("R0lGODlhAQABAIAAAAAAAP///yH5BAEAAAAALAAAAAABAAEAAAIBRAA7");
+
+    private static final Map<WebDriver, NetworkProfile> PROFILES = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, Map<String, Object>> TESTS = new ConcurrentHashMap<>();
+    private static final AtomicBoolean EXPORT_HOOK = new AtomicBoolean();
+
+    private final boolean blocking;
+    private final ResourceFilter filter;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private NetworkProfile(boolean blocking, ResourceFilter filter) {
+        this.blocking = blocking;
+        this.filter = filter;
+    }
+
+    public static boolean enabled() {
+        return TestConfig.fastProfile() || TestConfig.networkReport();
+    }
+
+    // Вызывается фабрикой сразу после запуска браузера, до первой навигации
+    public static void install(WebDriver driver) {
+        if (!enabled()) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            System.out.println("Network interception needs a DevTools-capable driver, got "
+                    + driver.getClass().getSimpleName());
+            return;
+        }
+        NetworkProfile profile = new NetworkProfile(TestConfig.fastProfile(), ResourceFilter.fromConfig());
+        try {
+            Filter intercept = next -> request -> profile.handle(request, next);
+            new NetworkInterceptor(driver, intercept);
+            PROFILES.put(driver, profile);
+        } catch (RuntimeException e) {
+            System.out.println("Network interception unavailable, pages load as usual: " + e.getMessage());
+        }
+        if (EXPORT_HOOK.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(NetworkProfile::exportQuietly, "network-report-export"));
+        }
+    }
+
+    public static void beginTest(WebDriver driver) {
+        NetworkProfile profile = PROFILES.get(driver);
+        if (profile != null) {
+            profile.requests.set(0);
+            profile.blocked.set(0);
+            profile.bytes.set(0);
+        }
+    }
+
+    public static void endTest(WebDriver driver, String testName) {
+        NetworkProfile profile = PROFILES.get(driver);
+        if (profile == null) {
+            return;
+        }
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("requests", profile.requests.get());
+        entry.put("blockedRequests", profile.blocked.get());
+        entry.put("bytes", profile.bytes.get());
+        LatencyHistogram pageLoads = Metrics.histograms(testName).get(PAGE_LOAD);
+        if (pageLoads != null && pageLoads.count() > 0) {
+            entry.put("pageLoads", pageLoads.count());
+            entry.put("pageLoadMs", millis(pageLoads.totalNanos() / pageLoads.count()));
+        }
+        TESTS.put(testName, entry);
+    }
+
+    private HttpResponse handle(HttpRequest request, HttpHandler next) {
+        String url = request.getUri();
+        ResourceFilter.Type type = ResourceFilter.classify(url, request.getHeader("Accept"));
+        if (blocking && filter.shouldBlock(url, type, request.getHeader("Referer"))) {
+            blocked.incrementAndGet();
+            return stub(type);
+        }
+        HttpResponse response = next.execute(request);
+        requests.incrementAndGet();
+        bytes.addAndGet(sizeOf(response));
+        return response;
+    }
+
+    private static HttpResponse stub(ResourceFilter.Type type) {
+        HttpResponse response = new HttpResponse().setStatus(200);
+        switch (type) {
+            case IMAGE:
+                return response.setHeader("Content-Type", "image/gif").setContent(Contents.bytes(TRANSPARENT_GIF));
+            case SCRIPT:
+                return response.setHeader("Content-Type", "application/javascript").setContent(Contents.empty());
+            case STYLESHEET:
+                return response.setHeader("Content-Type", "text/css").setContent(Contents.empty());
+            default:
+                return response.setStatus(204).setContent(Contents.empty());
+        }
+    }
+
+    private static long sizeOf(HttpResponse response) {
+        String length = response.getHeader("Content-Length");
+        if (length != null) {
+            try {
+                return Long.parseLong(length.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return Math.max(0, response.getContent().length());
+    }
+
+    static Map<String, Object> report() {
+        Map<String, Object> baseline = TestConfig.fastProfile() ? readBaseline() : Map.of();
+        Map<String, Object> tests = new TreeMap<>();
+        long savedRequests = 0;
+        long savedBytes = 0;
+        for (Map.Entry<String, Map<String, Object>> test : TESTS.entrySet()) {
+            Map<String, Object> entry = new LinkedHashMap<>(test.getValue());
+            Object before = baseline.get(test.getKey());
+            if (before instanceof Map) {
+                Map<?, ?> base = (Map<?, ?>) before;
+                long requestsSaved = number(base.get("requests")) - number(entry.get("requests"));
+                long bytesSaved = number(base.get("bytes")) - number(entry.get("bytes"));
+                entry.put("savedRequests", requestsSaved);
+                entry.put("savedBytes", bytesSaved);
+                if (base.get("pageLoadMs") instanceof Number && entry.get("pageLoadMs") instanceof Number) {
+                    entry.put("pageLoadDeltaMs", millis(Math.round((((Number) entry.get("pageLoadMs")).doubleValue()
+                            - ((Number) base.get("pageLoadMs")).doubleValue()) * 1_000_000)));
+                }
+                savedRequests += requestsSaved;
+                savedBytes += bytesSaved;
+            }
+            tests.put(test.getKey(), entry);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("fastProfile", TestConfig.fastProfile());
+        if (!baseline.isEmpty()) {
+            report.put("savedRequests", savedRequests);
+            report.put("savedBytes", savedBytes);
+        }
+        report.put("tests", tests);
+        return report;
+    }
+
+    private static Map<String, Object> readBaseline() {
+        Path baseline = TestConfig.networkBaselineFile();
+        if (!Files.isRegularFile(baseline)) {
+            return Map.of();
+        }
+        try {
+            Map<String, Object> saved = new Json().toType(Files.readString(baseline, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            Object tests = saved.get("tests");
+            if (tests instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> byTest = (Map<String, Object>) tests;
+                return byTest;
+            }
+        } catch (IOException | JsonException e) {
+            System.out.println("Ignoring unreadable network baseline " + baseline + ": " + e.getMessage());
+        }
+        return Map.of();
+    }
+
+    private static void exportQuietly() {
+        if (TESTS.isEmpty()) {
+            return;
+        }
+        // Прогон без быстрого профиля становится новой базовой линией
+        Path output = TestConfig.fastProfile() ? TestConfig.networkReportFile() : TestConfig.networkBaselineFile();
+        try {
+            Map<String, Object> report = report();
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Files.writeString(output, new Json().toJson(report), StandardCharsets.UTF_8);
+            String saved = report.containsKey("savedBytes")
+                    ? " (saved " + report.get("savedRequests") + " requests, "
+                            + number(report.get("savedBytes")) / 1024 + " KB vs baseline)"
+                    : "";
+            System.out.println("Network report written to " + output.toAbsolutePath() + saved);
+        } catch (IOException e) {
+            System.out.println("Failed to write network report: " + e.getMessage());
+        }
+    }
+
+    private static long number(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,131 @@
+package network;
+
+import config.TestConfig;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Решает, грузить ли ресурс в быстром профиле: по типу ресурса, маске адреса
+// и списку разрешённого для страницы, с которой пришёл запрос
+final class ResourceFilter {
+    enum Type {
+        DOCUMENT, IMAGE, FONT, MEDIA, STYLESHEET, SCRIPT, OTHER
+    }
+
+    private static final Set<String> IMAGES = Set.of("png", "jpg", "jpeg", "gif", "webp", "svg", "ico", "avif");
+    private static final Set<String> FONTS = Set.of("woff", "woff2", "ttf", "otf", "eot");
+    private static final Set<String> MEDIA = Set.of("mp4", "webm", "mp3", "ogg", "wav");
+
+    private final Set<Type> blockedTypes;
+    private final List<Pattern> blockedUrls;
+    private final Map<Pattern, List<Pattern>> allowedByPage;
+
+    ResourceFilter(Set<Type> blockedTypes, List<Pattern> blockedUrls, Map<Pattern, List<Pattern>> allowedByPage) {
+        this.blockedTypes = blockedTypes;
+        this.blockedUrls = blockedUrls;
+        this.allowedByPage = allowedByPage;
+    }
+
+    static ResourceFilter fromConfig() {
+        Set<Type> types = EnumSet.noneOf(Type.class);
+        for (String type : TestConfig.blockedResourceTypes()) {
+            try {
+                types.add(Type.valueOf(type.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown resource type in driver.fast.blockTypes: " + type);
+            }
+        }
+        // Саму страницу не блокируем никогда, иначе тестировать нечего
+        types.remove(Type.DOCUMENT);
+
+        List<Pattern> urls = new ArrayList<>();
+        for (String pattern : TestConfig.blockedUrlPatterns()) {
+            urls.add(glob(pattern));
+        }
+        Map<Pattern, List<Pattern>> allowed = new LinkedHashMap<>();
+        TestConfig.allowedUrlPatterns().forEach((page, patterns) -> {
+            List<Pattern> compiled = new ArrayList<>();
+            for (String pattern : patterns) {
+                compiled.add(glob(pattern));
+            }
+            allowed.put(glob(page), compiled);
+        });
+        return new ResourceFilter(types, urls, allowed);
+    }
+
+    // page — адрес страницы, которая запросила ресурс (Referer), может быть null
+    boolean shouldBlock(String url, Type type, String page) {
+        if (type == Type.DOCUMENT) {
+            return false;
+        }
+        if (page != null) {
+            for (Map.Entry<Pattern, List<Pattern>> entry : allowedByPage.entrySet()) {
+                if (entry.getKey().matcher(page).matches() && matchesAny(entry.getValue(), url)) {
+                    return false;
+                }
+            }
+        }
+        return blockedTypes.contains(type) || matchesAny(blockedUrls, url);
+    }
+
+    static Type classify(String url, String accept) {
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            path = url;
+        }
+        String extension = "";
+        if (path != null) {
+            int dot = path.lastIndexOf('.');
+            if (dot > path.lastIndexOf('/')) {
+                extension = path.substring(dot + 1).toLowerCase(Locale.ROOT);
+            }
+        }
+        String accepts = accept == null ? "" : accept.toLowerCase(Locale.ROOT);
+        if (IMAGES.contains(extension) || accepts.startsWith("image/")) {
+            return Type.IMAGE;
+        }
+        if (FONTS.contains(extension)) {
+            return Type.FONT;
+        }
+        if (MEDIA.contains(extension)) {
+            return Type.MEDIA;
+        }
+        if (extension.equals("css") || accepts.startsWith("text/css")) {
+            return Type.STYLESHEET;
+        }
+        if (extension.equals("js") || extension.equals("mjs")) {
+            return Type.SCRIPT;
+        }
+        if (accepts.startsWith("text/html")) {
+            return Type.DOCUMENT;
+        }
+        return Type.OTHER;
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Маска с * в регулярное выражение, остальные символы — как есть
+    static Pattern glob(String mask) {
+        List<String> parts = new ArrayList<>();
+        for (String part : mask.split("\\*", -1)) {
+            parts.add(Pattern.quote(part));
+        }
+        return Pattern.compile(String.join(".*", parts));
+    }
+}
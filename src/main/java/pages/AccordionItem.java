@@ -0,0 +1,37 @@
+package pages;
+
+// Результат чтения одного пункта аккордеона: вопрос, ответ и был ли ответ виден после раскрытия
+public class AccordionItem {
+    private final int index;
+    private final String question;
+    private final String answer;
+    private final boolean visible;
+
+    public AccordionItem(int index, String question, String answer, boolean visible) {
+        this.index = index;
+        this.question = question;
+        this.answer = answer;
+        this.visible = visible;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    @Override
+    public String toString() {
+        return "AccordionItem{" + index + ", visible=" + visible + ", question='" + question + "'}";
+    }
+}
@@ -0,0 +1,17 @@
+package pages;
+
+import org.openqa.selenium.By;
+import waits.WaitEngine;
+
+// Готовность приложения, а не документа: при eager-загрузке driver.get() возвращается
+// после DOMContentLoaded, поэтому ждём, пока приложение отрисует шапку
+final class AppReadiness {
+    private static final By APP_HEADER = By.cssSelector(".App_App__15LM- .Header_Header__214zg");
+
+    private AppReadiness() {
+    }
+
+    static void await(WaitEngine waits) {
+        waits.present(APP_HEADER);
+    }
+}
@@ -0,0 +1,138 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import waits.WaitEngine;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Кэш найденных элементов page object'а. Область действия — URL страницы, на которой элемент нашли:
+// после навигации кэш сбрасывается, устаревшие ссылки ищутся заново через ожидание
+public class ElementCache {
+
+    // Что должно быть верно для элемента, чтобы его можно было вернуть
+    public enum Requirement {
+        PRESENT, VISIBLE, CLICKABLE
+    }
+
+    // Одна проверка вместо findElement + isDisplayed + isEnabled: [в документе, адрес, видим, доступен]
+    private static final String REVALIDATE_SCRIPT =
+            "var el = arguments[0], connected = document.contains(el);" +
+            "var visible = connected && el.getClientRects().length > 0" +
+            "    && window.getComputedStyle(el).visibility !== 'hidden';" +
+            "return [connected, window.location.href, visible, !el.disabled];";
+
+    private final WebDriver driver;
+    private final WaitEngine waits;
+    private final Map<By, WebElement> handles = new HashMap<>();
+    private String scopeUrl;
+
+    private long hits;
+    private long misses;
+    private long staleHandles;
+    private long scopeResets;
+
+    public ElementCache(WebDriver driver, WaitEngine waits) {
+        this.driver = driver;
+        this.waits = waits;
+    }
+
+    public WebElement get(By locator, Requirement requirement) {
+        WebElement cached = handles.get(locator);
+        if (cached != null) {
+            try {
+                List<?> state = revalidate(cached);
+                if (!String.valueOf(state.get(1)).equals(scopeUrl)) {
+                    resetScope(String.valueOf(state.get(1)));
+                } else if (!Boolean.TRUE.equals(state.get(0))) {
+                    staleHandles++;
+                    handles.remove(locator);
+                } else if (satisfies(requirement, state)) {
+                    hits++;
+                    return cached;
+                }
+            } catch (StaleElementReferenceException e) {
+                staleHandles++;
+                handles.remove(locator);
+            }
+        }
+
+        // Промах: ищем с ожиданием и запоминаем вместе с адресом страницы
+        misses++;
+        WebElement element = await(requirement, locator);
+        String url = String.valueOf(revalidate(element).get(1));
+        if (!url.equals(scopeUrl)) {
+            resetScope(url);
+        }
+        handles.put(locator, element);
+        return element;
+    }
+
+    // Забыть один элемент, например после StaleElementReferenceException при клике
+    public void evict(By locator) {
+        handles.remove(locator);
+    }
+
+    public void clear() {
+        handles.clear();
+        scopeUrl = null;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getStaleHandles() {
+        return staleHandles;
+    }
+
+    public long getScopeResets() {
+        return scopeResets;
+    }
+
+    private List<?> revalidate(WebElement element) {
+        return (List<?>) ((JavascriptExecutor) driver).executeScript(REVALIDATE_SCRIPT, element);
+    }
+
+    private void resetScope(String url) {
+        if (scopeUrl != null) {
+            scopeResets++;
+        }
+        handles.clear();
+        scopeUrl = url;
+    }
+
+    private static boolean satisfies(Requirement requirement, List<?> state) {
+        boolean visible = Boolean.TRUE.equals(state.get(2));
+        boolean enabled = Boolean.TRUE.equals(state.get(3));
+        switch (requirement) {
+            case PRESENT: return true;
+            case VISIBLE: return visible;
+            case CLICKABLE: return visible && enabled;
+            default: throw new IllegalArgumentException("Unknown requirement: " + requirement);
+        }
+    }
+
+    private WebElement await(Requirement requirement, By locator) {
+        switch (requirement) {
+            case PRESENT: return waits.present(locator);
+            case VISIBLE: return waits.visible(locator);
+            case CLICKABLE: return waits.clickable(locator);
+            default: throw new IllegalArgumentException("Unknown requirement: " + requirement);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ElementCache{hits=" + hits + ", misses=" + misses
+                + ", stale=" + staleHandles + ", scopeResets=" + scopeResets + "}";
+    }
+}
@@ -0,0 +1,52 @@
+package pages;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+// Сколько обращений к браузеру ушло на заполнение каждого поля формы
+public class FormFillReport {
+    private final Map<OrderField, Long> roundTrips = new EnumMap<>(OrderField.class);
+    private final Set<OrderField> batchedFields = EnumSet.noneOf(OrderField.class);
+    private long batchRoundTrips;
+
+    void recordBatch(Iterable<OrderField> fields, long count) {
+        batchRoundTrips += count;
+        for (OrderField field : fields) {
+            batchedFields.add(field);
+        }
+    }
+
+    void record(OrderField field, long count) {
+        batchedFields.remove(field);
+        roundTrips.merge(field, count, Long::sum);
+    }
+
+    // Для полей из пакета возвращает общее число обращений пакета, которое они делят между собой
+    public long getRoundTrips(OrderField field) {
+        return batchedFields.contains(field) ? batchRoundTrips : roundTrips.getOrDefault(field, 0L);
+    }
+
+    public boolean isBatched(OrderField field) {
+        return batchedFields.contains(field);
+    }
+
+    public long getBatchRoundTrips() {
+        return batchRoundTrips;
+    }
+
+    public long getTotalRoundTrips() {
+        long total = batchRoundTrips;
+        for (long count : roundTrips.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "FormFillReport{total=" + getTotalRoundTrips() + ", batch=" + batchRoundTrips + " for " + batchedFields
+                + ", perField=" + roundTrips + "}";
+    }
+}
@@ -1,36 +1,80 @@
 package pages;
 
+import config.TestConfig;
+import driver.SessionState;
+import metrics.Instrumentation;
+import metrics.Metrics;
 import org.openqa.selenium.*;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
+import waits.WaitEngine;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class MainPage {
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final WaitEngine waits;
+    private final ElementCache elements;
+
+    // Сколько ждём раскрытия одного ответа при пакетном чтении аккордеона, если позволяет таймаут скрипта
+    private static final long ACCORDION_ITEM_TIMEOUT_MS = 5000;
+
+    // Запас между ответом скрипта и таймаутом скрипта сессии
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 1_000;
+
+    // Раскрывает пункты по очереди и собирает тексты внутри браузера, отвечая один раз на все пункты.
+    // Весь вызов укладывается в budgetMs: оставшееся время делится поровну на непрочитанные пункты,
+    // поэтому один медленный пункт не съедает таймаут скрипта и результаты остальных не теряются
+    private static final String READ_ACCORDION_SCRIPT =
+            "var timeoutMs = arguments[0], budgetMs = arguments[1], done = arguments[arguments.length - 1];" +
+            "var headings = document.querySelectorAll(\"[id^='accordion__heading-']\");" +
+            "var results = [], i = 0, deadline = Date.now() + budgetMs;" +
+            "function isVisible(el) { return !!el && !el.hidden && el.getClientRects().length > 0; }" +
+            "function next() {" +
+            "  if (i >= headings.length) { done(results); return; }" +
+            "  var heading = headings[i];" +
+            "  var panel = document.getElementById(heading.getAttribute('aria-controls') || heading.id.replace('heading', 'panel'));" +
+            "  heading.scrollIntoView({block: 'center'});" +
+            "  heading.click();" +
+            "  var started = Date.now();" +
+            "  var limitMs = Math.min(timeoutMs, Math.max(0, deadline - started) / (headings.length - i));" +
+            "  (function check() {" +
+            "    var visible = isVisible(panel);" +
+            "    if (visible || Date.now() - started >= limitMs) {" +
+            "      results.push({index: Number(heading.id.split('-').pop()), question: heading.textContent.trim()," +
+            "                    answer: panel ? (visible ? panel.innerText : panel.textContent).trim() : '', visible: visible});" +
+            "      i++;" +
+            "      next();" +
+            "    } else {" +
+            "      setTimeout(check, 10);" +
+            "    }" +
+            "  })();" +
+            "}" +
+            "next();";
 
     public MainPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        this.driver = Instrumentation.wrap(driver);
+        this.waits = new WaitEngine(this.driver);
+        this.elements = new ElementCache(this.driver, waits);
     }
 
     // Логотип Самоката
-    private final By scooterLogo = By.xpath("//a[@class='Header_LogoScooter__3lsAR']");
+    private static final By scooterLogo = By.xpath("//a[@class='Header_LogoScooter__3lsAR']");
 
     // Логотип Яндекса
-    private final By yandexLogo = By.xpath("//a[@class='Header_LogoYandex__3TSOI']");
+    private static final By yandexLogo = By.xpath("//a[@class='Header_LogoYandex__3TSOI']");
 
     // Кнопка "Заказать" (верхняя)
-    private final By topOrderButton = By.xpath("(//button[text()='Заказать'])[1]");
+    private static final By topOrderButton = By.xpath("(//button[text()='Заказать'])[1]");
 
     // Кнопка "Заказать" (нижняя)
-    private final By bottomOrderButton = By.xpath("(//button[text()='Заказать'])[2]");
+    private static final By bottomOrderButton = By.xpath("(//button[text()='Заказать'])[2]");
 
     // Кнопка "Статус заказа"
-    private final By orderStatusButton = By.xpath("//button[contains(@class, 'Header_Link') and text()='Статус заказа']");
+    private static final By orderStatusButton = By.xpath("//button[contains(@class, 'Header_Link') and text()='Статус заказа']");
 
     // Поле ввода номера заказа (в хедере)
     private final By orderNumberInput = By.xpath("//input[@placeholder='Введите номер заказа']");
@@ -39,56 +83,118 @@ public class MainPage {
     private final By goButton = By.xpath("//button[text()='Go!']");
 
     // Блок с вопросами и ответами (аккордеон)
-    private final By accordionItem = By.className("accordion__item");
+    private static final By accordionItem = By.className("accordion__item");
+
+    // Локаторы кнопок для бенчмарков стратегий поиска (модуль benchmarks): меряется то, что стоит здесь
+    public static By getOrderStatusButton() {
+        return orderStatusButton;
+    }
+
+    public static By getBottomOrderButton() {
+        return bottomOrderButton;
+    }
 
     // Вопросы в аккордеоне (по индексу)
-    private By getAccordionQuestion(int index) {
+    public static By getAccordionQuestion(int index) {
         return By.id("accordion__heading-" + index);
     }
 
     // Ответы в аккордеоне (по индексу)
-    private By getAccordionAnswer(int index) {
+    public static By getAccordionAnswer(int index) {
         return By.id("accordion__panel-" + index);
     }
 
     // Кнопка "Принять куки"
     private final By acceptCookiesButton = By.id("rcc-confirm-button");
 
+    // Элементы шапки и кнопки заказа, которые есть на странице сразу после загрузки;
+    // по ним же проверяет разметку StaticPage, без браузера
+    public static Map<String, By> getStaticLocators() {
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("Логотип Самоката", scooterLogo);
+        locators.put("Логотип Яндекса", yandexLogo);
+        locators.put("Верхняя кнопка «Заказать»", topOrderButton);
+        locators.put("Нижняя кнопка «Заказать»", bottomOrderButton);
+        locators.put("Кнопка «Статус заказа»", orderStatusButton);
+        locators.put("Аккордеон", accordionItem);
+        return locators;
+    }
+
     // Основные методы страницы
     public void open() {
-        driver.get("https://qa-scooter.praktikum-services.ru/");
+        Metrics.step("MainPage.open", () -> {
+            SessionState.navigate(driver, TestConfig.baseUrl());
+            AppReadiness.await(waits);
+        });
     }
 
     public void clickOrderButton(boolean isTopButton) {
-        WebElement button = wait.until(ExpectedConditions.elementToBeClickable(
-                isTopButton ? topOrderButton : bottomOrderButton));
-        button.click();
+        Metrics.step("MainPage.clickOrderButton", () -> {
+            WebElement button = elements.get(isTopButton ? topOrderButton : bottomOrderButton,
+                    ElementCache.Requirement.CLICKABLE);
+            button.click();
+        });
     }
 
     public void clickStatusButton() {
-        WebElement button = wait.until(ExpectedConditions.elementToBeClickable(orderStatusButton));
-        button.click();
+        Metrics.step("MainPage.clickStatusButton", () -> {
+            WebElement button = elements.get(orderStatusButton, ElementCache.Requirement.CLICKABLE);
+            button.click();
+        });
     }
 
     public void acceptCookies() {
-        try {
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(5));
-            WebElement cookieButton = shortWait.until(ExpectedConditions.elementToBeClickable(
-                    By.xpath("//button[contains(text(), 'да все привыкли') or @id='rcc-confirm-button']")
-            ));
-            ((JavascriptExecutor)driver).executeScript("arguments[0].click();", cookieButton);
-        } catch (Exception e) {
-            System.out.println("Cookie banner not found or not clickable: " + e.getMessage());
-        }
+        Metrics.step("MainPage.acceptCookies", () -> {
+            // Согласие уже подложено в сессию снимком состояния — баннера не будет
+            if (SessionState.consentGiven(driver)) {
+                return;
+            }
+            try {
+                WebElement cookieButton = waits.withTimeout(TestConfig.shortWaitTimeout()).clickable(
+                        By.xpath("//button[contains(text(), 'да все привыкли') or @id='rcc-confirm-button']"));
+                ((JavascriptExecutor)driver).executeScript("arguments[0].click();", cookieButton);
+            } catch (Exception e) {
+                System.out.println("Cookie banner not found or not clickable: " + e.getMessage());
+            }
+        });
     }
 
     public void clickAccordionItem(int index) {
-        WebElement item = wait.until(ExpectedConditions.elementToBeClickable(getAccordionQuestion(index)));
-        item.click();
+        Metrics.step("MainPage.clickAccordionItem", () -> {
+            WebElement item = elements.get(getAccordionQuestion(index), ElementCache.Requirement.CLICKABLE);
+            item.click();
+        });
     }
 
     public String getAccordionAnswerText(int index) {
-        WebElement answer = wait.until(ExpectedConditions.visibilityOfElementLocated(getAccordionAnswer(index)));
-        return answer.getText();
+        return Metrics.step("MainPage.getAccordionAnswerText", () -> {
+            WebElement answer = elements.get(getAccordionAnswer(index), ElementCache.Requirement.VISIBLE);
+            return answer.getText();
+        });
+    }
+
+    // Раскрывает все пункты аккордеона и читает ответы за один асинхронный вызов скрипта
+    public List<AccordionItem> readAccordionItems() {
+        return Metrics.step("MainPage.readAccordionItems", () -> {
+            waits.present(accordionItem);
+            long budgetMs = Math.max(0, TestConfig.scriptTimeout().toMillis() - SCRIPT_TIMEOUT_MARGIN_MS);
+            Object raw = ((JavascriptExecutor) driver).executeAsyncScript(READ_ACCORDION_SCRIPT,
+                    ACCORDION_ITEM_TIMEOUT_MS, budgetMs);
+            List<AccordionItem> items = new ArrayList<>();
+            for (Object entry : (List<?>) raw) {
+                Map<?, ?> item = (Map<?, ?>) entry;
+                items.add(new AccordionItem(
+                        ((Number) item.get("index")).intValue(),
+                        String.valueOf(item.get("question")),
+                        String.valueOf(item.get("answer")),
+                        Boolean.TRUE.equals(item.get("visible"))));
+            }
+            return items;
+        });
+    }
+
+    // Счётчики попаданий и промахов кэша элементов
+    public ElementCache getElementCache() {
+        return elements;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,25 @@
+package pages;
+
+// Поля формы заказа для декларативного заполнения через OrderPage.fillForm
+public enum OrderField {
+    NAME(true),
+    SURNAME(true),
+    ADDRESS(true),
+    METRO(false),
+    PHONE(true),
+    DATE(false),
+    RENTAL_PERIOD(false),
+    COLOR(true),
+    COMMENT(true);
+
+    private final boolean batchable;
+
+    OrderField(boolean batchable) {
+        this.batchable = batchable;
+    }
+
+    // Можно ли выставить значение скриптом; метро, дата и срок аренды требуют настоящего ввода
+    public boolean isBatchable() {
+        return batchable;
+    }
+}
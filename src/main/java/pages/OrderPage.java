@@ -1,14 +1,49 @@
 package pages;
 
+import artifacts.FailureArtifacts;
+import config.TestConfig;
+import driver.SessionState;
+import metrics.CommandCounter;
+import metrics.Instrumentation;
+import metrics.Metrics;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
+import waits.WaitEngine;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class OrderPage {
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final WaitEngine waits;
+    private final ElementCache elements;
+    private final CommandCounter commands = new CommandCounter();
+    private FormFillReport lastFillReport;
+
+    // Выставляет значения полей одним вызовом: через нативный setter value и события input/change,
+    // как этого ждёт React; чекбоксы отмечаются кликом. Возвращает поля, которые не нашлись на странице
+    private static final String BATCH_FILL_SCRIPT =
+            "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;" +
+            "var missing = [];" +
+            "arguments[0].forEach(function (f) {" +
+            "  var el = f.using === 'xpath'" +
+            "      ? document.evaluate(f.value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue" +
+            "      : f.using === 'id' ? document.getElementById(f.value) : document.querySelector(f.value);" +
+            "  if (!el) { missing.push(f.field); return; }" +
+            "  if (f.checkbox) { if (!el.checked) { el.click(); } return; }" +
+            "  el.focus();" +
+            "  setter.call(el, f.text);" +
+            "  el.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  el.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  el.blur();" +
+            "});" +
+            "return missing;";
+
+    // «Номер заказа: 123456. Запишите его» в окне успешного оформления
+    private static final Pattern ORDER_NUMBER = Pattern.compile("Номер заказа:\\s*(\\d+)");
 
     // Локаторы формы пользователя
     private final By nameInput = By.xpath("//input[@placeholder='* Имя']");
@@ -29,101 +64,210 @@ public class OrderPage {
     // Локаторы модального окна подтверждения
     private final By confirmModal = By.xpath("//div[contains(@class, 'Order_Modal__YZ-d3')]");
     private final By yesButton = By.xpath("//div[@class='Order_Buttons__1xGrp']/button[not(contains(@class, 'Button_Inverted__3IF-i'))]");
+    private final By modalHeader = By.cssSelector("div.Order_ModalHeader__3FDaJ");
     private final By successMessage = By.xpath("//div[contains(@class, 'Order_ModalHeader__3FDaJ')][contains(., 'Заказ оформлен')]");
 
-    // Локаторы куки-баннера
-    private final List<By> cookieBanners = List.of(
-            By.id("rcc-confirm-button"),
-            By.xpath("//button[contains(text(), 'да все привыкли')]"),
-            By.cssSelector("button.App_CookieButton")
-    );
+    // Кнопка куки-баннера: все известные варианты в одном локаторе, чтобы ждать один раз, а не по каждому
+    private final By cookieButton = By.xpath("//button[@id='rcc-confirm-button' or contains(text(), 'да все привыкли')"
+            + " or contains(@class, 'App_CookieButton')]");
 
     public OrderPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        // Обёртка считает и замеряет обращения к браузеру, поведение драйвера не меняется
+        this.driver = Instrumentation.wrap(driver, commands);
+        this.waits = new WaitEngine(this.driver);
+        this.elements = new ElementCache(this.driver, waits);
     }
 
     public boolean isOrderSuccessDisplayed() {
-        try {
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(successMessage));
-            return element.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return Metrics.step("OrderPage.isOrderSuccessDisplayed", () -> {
+            try {
+                WebElement element = elements.get(successMessage, ElementCache.Requirement.VISIBLE);
+                return element.isDisplayed();
+            } catch (Exception e) {
+                return false;
+            }
+        });
     }
 
     public void fillUserForm(String name, String surname, String address, String metroStation, String phone) {
-        setInputValue(nameInput, name);
-        setInputValue(surnameInput, surname);
-        setInputValue(addressInput, address);
-        selectMetroStation(metroStation);
-        setInputValue(phoneInput, phone);
+        Map<OrderField, String> values = new EnumMap<>(OrderField.class);
+        values.put(OrderField.NAME, name);
+        values.put(OrderField.SURNAME, surname);
+        values.put(OrderField.ADDRESS, address);
+        values.put(OrderField.METRO, metroStation);
+        values.put(OrderField.PHONE, phone);
+        Metrics.step("OrderPage.fillUserForm", () -> fill(values, TestConfig.batchedFormFill()));
     }
 
     public void fillDeliveryForm(String date, String rentalPeriod, String color, String comment) {
-        setDate(date);
-        selectRentalPeriod(rentalPeriod);
-        selectColor(color);
-        setComment(comment);
+        Map<OrderField, String> values = new EnumMap<>(OrderField.class);
+        values.put(OrderField.DATE, date);
+        values.put(OrderField.RENTAL_PERIOD, rentalPeriod);
+        values.put(OrderField.COLOR, color);
+        values.put(OrderField.COMMENT, comment);
+        Metrics.step("OrderPage.fillDeliveryForm", () -> fill(values, TestConfig.batchedFormFill()));
+    }
+
+    // Заполняет поля текущего шага формы: простые поля одним скриптом, остальные настоящим вводом
+    public FormFillReport fillForm(Map<OrderField, String> values) {
+        return Metrics.step("OrderPage.fillForm", () -> fill(values, true));
+    }
+
+    // Отчёт по обращениям к браузеру для последнего заполнения формы
+    public FormFillReport getLastFillReport() {
+        return lastFillReport;
+    }
+
+    // Переход со страницы «Для кого самокат» на «Про аренду»
+    public void clickNextButton() {
+        Metrics.step("OrderPage.clickNextButton", () -> clickWithRetry(nextButton));
     }
 
     public void submitOrder() {
-        clickWithRetry(orderButton);
+        Metrics.step("OrderPage.submitOrder", () -> clickWithRetry(orderButton));
     }
 
     public void confirmOrder() {
-        try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(confirmModal));
-            WebElement button = wait.until(ExpectedConditions.elementToBeClickable(yesButton));
-            clickWithJavaScript(button);
-            verifyOrderSuccess();
-        } catch (Exception e) {
-            takeScreenshot("confirm_order_error");
-            throw new RuntimeException("Order confirmation failed: " + e.getMessage());
-        }
+        Metrics.step("OrderPage.confirmOrder", () -> {
+            try {
+                elements.get(confirmModal, ElementCache.Requirement.VISIBLE);
+                WebElement button = elements.get(yesButton, ElementCache.Requirement.CLICKABLE);
+                clickWithJavaScript(button);
+                verifyOrderSuccess();
+            } catch (RuntimeException e) {
+                // Снимок окна подтверждения, исключение уходит в тест как есть, со своим типом и стеком
+                takeScreenshot("confirm_order_error");
+                throw e;
+            }
+        });
+    }
+
+    // Номер заказа из окна «Заказ оформлен»; null, если номера в окне нет
+    public String getOrderNumber() {
+        return Metrics.step("OrderPage.getOrderNumber", () -> {
+            String text = waits.withTimeout(TestConfig.longWaitTimeout()).text(modalHeader, "Заказ оформлен").getText();
+            Matcher matcher = ORDER_NUMBER.matcher(text);
+            return matcher.find() ? matcher.group(1) : null;
+        });
     }
 
     public void acceptCookies() {
-        for (By locator : cookieBanners) {
-            try {
-                WebElement cookieBanner = new WebDriverWait(driver, Duration.ofSeconds(2))
-                        .until(ExpectedConditions.elementToBeClickable(locator));
-                clickWithJavaScript(cookieBanner);
+        Metrics.step("OrderPage.acceptCookies", () -> {
+            // Согласие уже подложено в сессию снимком состояния — баннера не будет
+            if (SessionState.consentGiven(driver)) {
                 return;
-            } catch (Exception ignored) {}
+            }
+            try {
+                clickWithJavaScript(waits.withTimeout(TestConfig.shortWaitTimeout()).clickable(cookieButton));
+            } catch (Exception e) {
+                System.out.println("Cookie banner not found with any locator");
+            }
+        });
+    }
+
+    private FormFillReport fill(Map<OrderField, String> values, boolean batched) {
+        Map<OrderField, String> ordered = new EnumMap<>(values);
+        FormFillReport report = new FormFillReport();
+        List<OrderField> interactive = new ArrayList<>();
+        List<OrderField> batch = new ArrayList<>();
+        for (OrderField field : ordered.keySet()) {
+            (batched && field.isBatchable() ? batch : interactive).add(field);
+        }
+
+        if (!batch.isEmpty()) {
+            long before = commands.count();
+            List<OrderField> missing = setBatch(batch, ordered);
+            report.recordBatch(batch, commands.count() - before);
+            // Если поле не нашлось скриптом, заполняем его по-старому, с ожиданием
+            interactive.addAll(missing);
+        }
+        for (OrderField field : interactive) {
+            long before = commands.count();
+            fillField(field, ordered.get(field));
+            report.record(field, commands.count() - before);
+        }
+        lastFillReport = report;
+        return report;
+    }
+
+    private List<OrderField> setBatch(List<OrderField> fields, Map<OrderField, String> values) {
+        elements.get(locatorFor(fields.get(0), values.get(fields.get(0))), ElementCache.Requirement.VISIBLE);
+        List<Map<String, Object>> spec = new ArrayList<>();
+        for (OrderField field : fields) {
+            By.Remotable.Parameters locator = ((By.Remotable) locatorFor(field, values.get(field))).getRemoteParameters();
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("field", field.name());
+            entry.put("using", locator.using());
+            entry.put("value", locator.value());
+            entry.put("text", values.get(field));
+            entry.put("checkbox", field == OrderField.COLOR);
+            spec.add(entry);
+        }
+        List<OrderField> missing = new ArrayList<>();
+        for (Object name : (List<?>) ((JavascriptExecutor) driver).executeScript(BATCH_FILL_SCRIPT, spec)) {
+            missing.add(OrderField.valueOf(String.valueOf(name)));
+        }
+        return missing;
+    }
+
+    private By locatorFor(OrderField field, String value) {
+        switch (field) {
+            case NAME: return nameInput;
+            case SURNAME: return surnameInput;
+            case ADDRESS: return addressInput;
+            case METRO: return metroInput;
+            case PHONE: return phoneInput;
+            case DATE: return dateInput;
+            case RENTAL_PERIOD: return rentalPeriodDropdown;
+            case COLOR: return colorLocator(value);
+            case COMMENT: return commentInput;
+            default: throw new IllegalArgumentException("Unknown order field: " + field);
+        }
+    }
+
+    private void fillField(OrderField field, String value) {
+        switch (field) {
+            case METRO: selectMetroStation(value); break;
+            case DATE: setDate(value); break;
+            case RENTAL_PERIOD: selectRentalPeriod(value); break;
+            case COLOR: selectColor(value); break;
+            case COMMENT: setComment(value); break;
+            default: setInputValue(locatorFor(field, value), value);
         }
-        System.out.println("Cookie banner not found with any locator");
     }
 
     private void setInputValue(By locator, String value) {
-        WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        WebElement element = elements.get(locator, ElementCache.Requirement.VISIBLE);
         element.clear();
         element.sendKeys(value);
     }
 
     private void setDate(String date) {
-        WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(dateInput));
+        WebElement element = elements.get(dateInput, ElementCache.Requirement.VISIBLE);
         element.clear();
         element.sendKeys(date, Keys.ENTER);
     }
 
     private void selectMetroStation(String stationName) {
-        wait.until(ExpectedConditions.elementToBeClickable(metroInput)).click();
-        WebElement station = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//div[text()='" + stationName + "']")));
+        elements.get(metroInput, ElementCache.Requirement.CLICKABLE).click();
+        WebElement station = elements.get(
+                By.xpath("//div[text()='" + stationName + "']"), ElementCache.Requirement.CLICKABLE);
         scrollAndClick(station);
     }
 
     private void selectRentalPeriod(String rentalPeriod) {
-        scrollAndClick(wait.until(ExpectedConditions.elementToBeClickable(rentalPeriodDropdown)));
-        WebElement period = wait.until(ExpectedConditions.elementToBeClickable(
-                By.xpath("//div[contains(@class,'Dropdown-option') and text()='" + rentalPeriod + "']")));
+        scrollAndClick(elements.get(rentalPeriodDropdown, ElementCache.Requirement.CLICKABLE));
+        WebElement period = elements.get(
+                By.xpath("//div[contains(@class,'Dropdown-option') and text()='" + rentalPeriod + "']"), ElementCache.Requirement.CLICKABLE);
         scrollAndClick(period);
     }
 
     private void selectColor(String color) {
-        By colorLocator = color.equals("black") ? blackCheckbox : greyCheckbox;
-        scrollAndClick(wait.until(ExpectedConditions.elementToBeClickable(colorLocator)));
+        scrollAndClick(elements.get(colorLocator(color), ElementCache.Requirement.CLICKABLE));
+    }
+
+    private By colorLocator(String color) {
+        return color.equals("black") ? blackCheckbox : greyCheckbox;
     }
 
     private void setComment(String comment) {
@@ -131,8 +275,7 @@ public class OrderPage {
     }
 
     private void verifyOrderSuccess() {
-        WebDriverWait longWait = new WebDriverWait(driver, Duration.ofSeconds(45));
-        WebElement element = longWait.until(ExpectedConditions.visibilityOfElementLocated(successMessage));
+        WebElement element = waits.withTimeout(TestConfig.longWaitTimeout()).text(modalHeader, "Заказ оформлен");
         if (!element.isDisplayed()) {
             throw new RuntimeException("Order success message not displayed");
         }
@@ -155,20 +298,23 @@ public class OrderPage {
     private void clickWithRetry(By locator) {
         for (int i = 0; i < 3; i++) {
             try {
-                WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+                WebElement element = elements.get(locator, ElementCache.Requirement.CLICKABLE);
                 scrollAndClick(element);
                 return;
             } catch (StaleElementReferenceException e) {
+                elements.evict(locator);
                 if (i == 2) throw e;
             }
         }
     }
 
+    // Снимок попадает в буфер артефактов и будет записан, если тест в итоге упадёт
     private void takeScreenshot(String name) {
-        try {
-            ((TakesScreenshot)driver).getScreenshotAs(OutputType.BYTES);
-        } catch (Exception e) {
-            System.out.println("Failed to take screenshot: " + e.getMessage());
-        }
+        FailureArtifacts.snapshot(driver, name);
+    }
+
+    // Счётчики попаданий и промахов кэша элементов
+    public ElementCache getElementCache() {
+        return elements;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package pages;
+
+// Результат проверки одного заказа на странице статуса и время, ушедшее на неё
+public class OrderStatusCheck {
+    public enum Outcome {
+        FOUND,
+        NOT_FOUND,
+        // Страница не открылась или не показала ни карточку заказа, ни «не найдено»
+        ERROR
+    }
+
+    private final String orderNumber;
+    private final Outcome outcome;
+    private final long openMillis;
+    private final long resultMillis;
+    private final String error;
+
+    OrderStatusCheck(String orderNumber, Outcome outcome, long openMillis, long resultMillis, String error) {
+        this.orderNumber = orderNumber;
+        this.outcome = outcome;
+        this.openMillis = openMillis;
+        this.resultMillis = resultMillis;
+        this.error = error;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isFound() {
+        return outcome == Outcome.FOUND;
+    }
+
+    // Открытие страницы статуса до готовности приложения
+    public long getOpenMillis() {
+        return openMillis;
+    }
+
+    // От готовности страницы до ответа поиска
+    public long getResultMillis() {
+        return resultMillis;
+    }
+
+    public long getTotalMillis() {
+        return openMillis + resultMillis;
+    }
+
+    // Причина для ERROR, иначе null
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderStatusCheck{" + orderNumber + " " + outcome + ", open=" + openMillis + "ms, result="
+                + resultMillis + "ms" + (error == null ? "" : ", error=" + error) + "}";
+    }
+}
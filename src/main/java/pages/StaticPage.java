@@ -0,0 +1,162 @@
+package pages;
+
+import config.TestConfig;
+import metrics.Metrics;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Страница без браузера: HTML и JS-бандлы скачиваются по HTTP и разбираются jsoup.
+// Для проверок статического содержимого теми же локаторами, что и у page objects; скрипты не выполняются
+public class StaticPage {
+    private static final Pattern UNICODE_ESCAPE = Pattern.compile("\\\\u([0-9a-fA-F]{4})");
+
+    private final HttpClient http;
+    private final String url;
+    private final int status;
+    private final Document document;
+    private String bundles;
+
+    private StaticPage(HttpClient http, String url, int status, Document document) {
+        this.http = http;
+        this.url = url;
+        this.status = status;
+        this.document = document;
+    }
+
+    public static StaticPage fetch(String url) {
+        return Metrics.step("StaticPage.fetch", () -> {
+            HttpClient http = HttpClient.newBuilder()
+                    .connectTimeout(TestConfig.apiTimeout())
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+            HttpResponse<String> response = get(http, url);
+            String finalUrl = response.uri().toString();
+            return new StaticPage(http, finalUrl, response.statusCode(), Jsoup.parse(response.body(), finalUrl));
+        });
+    }
+
+    // Адрес после редиректов
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getTitle() {
+        return document.title();
+    }
+
+    // Поддерживаются все стандартные локаторы Selenium: id, name, className, tagName, css, xpath и поиск ссылок по тексту
+    public List<Element> findElements(By locator) {
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "xpath":
+                return document.selectXpath(value);
+            case "css selector":
+                return document.select(value);
+            case "id":
+                Element byId = document.getElementById(value);
+                return byId == null ? new Elements() : new Elements(byId);
+            case "class name":
+                return document.getElementsByClass(value);
+            case "name":
+                return document.getElementsByAttributeValue("name", value);
+            case "tag name":
+                return document.getElementsByTag(value);
+            case "link text":
+            case "partial link text":
+                Elements links = new Elements();
+                for (Element link : document.select("a")) {
+                    String text = link.text().trim();
+                    if (parameters.using().equals("link text") ? text.equals(value) : text.contains(value)) {
+                        links.add(link);
+                    }
+                }
+                return links;
+            default:
+                throw new IllegalArgumentException("Unsupported locator for static checks: " + locator);
+        }
+    }
+
+    public Element findElement(By locator) {
+        List<Element> found = findElements(locator);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("No element " + locator + " in static HTML of " + url);
+        }
+        return found.get(0);
+    }
+
+    public boolean isPresent(By locator) {
+        return !findElements(locator).isEmpty();
+    }
+
+    // Разметка приложения пришла с сервера; у собираемой скриптом страницы корень пустой
+    public boolean isServerRendered() {
+        return !document.select("#root *").isEmpty();
+    }
+
+    // Текст есть в разметке или в строках JS-бандлов (там лежат тексты страниц, собираемых скриптом)
+    public boolean containsText(String text) {
+        return document.text().contains(text) || bundleText().contains(text);
+    }
+
+    // Бандлы скачиваются один раз и только при первой проверке, которой не хватило разметки
+    private synchronized String bundleText() {
+        if (bundles == null) {
+            List<String> sources = new ArrayList<>();
+            for (Element script : document.select("script[src]")) {
+                HttpResponse<String> response = get(http, script.absUrl("src"));
+                if (response.statusCode() == 200) {
+                    sources.add(unescape(response.body()));
+                }
+            }
+            bundles = String.join("\n", sources);
+        }
+        return bundles;
+    }
+
+    private static HttpResponse<String> get(HttpClient http, String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(TestConfig.apiTimeout())
+                .GET()
+                .build();
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to fetch " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching " + url, e);
+        }
+    }
+
+    // Сборщики часто пишут кириллицу в бандле escape-последовательностями вида \\u0421
+    private static String unescape(String script) {
+        Matcher matcher = UNICODE_ESCAPE.matcher(script);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(result, Matcher.quoteReplacement(
+                    String.valueOf((char) Integer.parseInt(matcher.group(1), 16))));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -1,48 +1,140 @@
 package pages;
 
+import config.TestConfig;
+import driver.SessionState;
+import metrics.Instrumentation;
+import metrics.Metrics;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
+import waits.WaitEngine;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class StatusPage {
     private final WebDriver driver;
-    private final WebDriverWait wait;
+    private final ElementCache elements;
+    private final WaitEngine waits;
+    private final WaitEngine resultWaits;
 
     // Локаторы страницы статуса
     private final By orderNumberInput = By.xpath("//input[contains(@class, 'Input_Input__') and @placeholder='Введите номер заказа']");
     private final By goButton = By.xpath("//button[contains(text(), 'Go!')]");
     private final By notFoundBlock = By.cssSelector("div.Track_NotFound__6oaoY");
     private final By notFoundImage = By.cssSelector("div.Track_NotFound__6oaoY img");
+    // Любой из двух ответов поиска: карточка заказа или «не найдено»
+    private final By searchResult = By.xpath("//div[contains(@class, 'Track_OrderInfo__')"
+            + " or contains(@class, 'Track_NotFound__')]");
 
     public StatusPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        this.driver = Instrumentation.wrap(driver);
+        this.waits = new WaitEngine(this.driver);
+        this.elements = new ElementCache(this.driver, waits);
+        // Результат поиска приходит с сервера, ждём его дольше
+        this.resultWaits = waits.withTimeout(TestConfig.longWaitTimeout());
     }
 
     public void checkOrderStatus(String orderNumber) {
-        enterOrderNumber(orderNumber);
-        clickGoButton();
+        Metrics.step("StatusPage.checkOrderStatus", () -> {
+            enterOrderNumber(orderNumber);
+            clickGoButton();
+        });
     }
 
     public void enterOrderNumber(String number) {
-        WebElement input = wait.until(ExpectedConditions.visibilityOfElementLocated(orderNumberInput));
-        input.clear();
-        input.sendKeys(number);
+        Metrics.step("StatusPage.enterOrderNumber", () -> {
+            WebElement input = elements.get(orderNumberInput, ElementCache.Requirement.VISIBLE);
+            input.clear();
+            input.sendKeys(number);
+        });
     }
 
     public void clickGoButton() {
-        WebElement button = wait.until(ExpectedConditions.elementToBeClickable(goButton));
-        ((JavascriptExecutor)driver).executeScript("arguments[0].click();", button);
+        Metrics.step("StatusPage.clickGoButton", () -> {
+            WebElement button = elements.get(goButton, ElementCache.Requirement.CLICKABLE);
+            ((JavascriptExecutor)driver).executeScript("arguments[0].click();", button);
+        });
     }
 
-    public boolean isNotFoundMessageDisplayed() {
+    // Дожидается ответа поиска, каким бы он ни был, и сообщает, нашёлся ли заказ
+    public boolean isOrderFound() {
+        return Metrics.step("StatusPage.isOrderFound", () -> {
+            try {
+                return awaitResult();
+            } catch (Exception e) {
+                return false;
+            }
+        });
+    }
+
+    // Проверка многих заказов в одной сессии: каждый номер открывается прямо по адресу страницы статуса,
+    // без главной страницы и поля в шапке. Новая страница на каждый номер исключает старый ответ поиска,
+    // поэтому ответ ждём по появлению результата, без пауз. Результаты идут в порядке номеров
+    public List<OrderStatusCheck> checkOrders(Collection<String> orderNumbers) {
+        List<OrderStatusCheck> checks = new ArrayList<>(orderNumbers.size());
+        for (String number : orderNumbers) {
+            checks.add(Metrics.step("StatusPage.checkOrder", () -> checkOrder(number)));
+        }
+        return checks;
+    }
+
+    private OrderStatusCheck checkOrder(String number) {
+        long started = System.nanoTime();
+        try {
+            SessionState.navigate(driver,
+                    TestConfig.baseUrl() + "track?t=" + URLEncoder.encode(number, StandardCharsets.UTF_8));
+            AppReadiness.await(waits);
+        } catch (RuntimeException e) {
+            return new OrderStatusCheck(number, OrderStatusCheck.Outcome.ERROR, millisSince(started), 0,
+                    "Status page did not open: " + firstLine(e.getMessage()));
+        }
+        long opened = System.nanoTime();
+        long openMillis = TimeUnit.NANOSECONDS.toMillis(opened - started);
         try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(notFoundBlock));
-            WebElement image = driver.findElement(notFoundImage);
-            return image.isDisplayed();
-        } catch (Exception e) {
-            return false;
+            boolean found = awaitResult();
+            return new OrderStatusCheck(number, found ? OrderStatusCheck.Outcome.FOUND : OrderStatusCheck.Outcome.NOT_FOUND,
+                    openMillis, millisSince(opened), null);
+        } catch (RuntimeException e) {
+            return new OrderStatusCheck(number, OrderStatusCheck.Outcome.ERROR, openMillis, millisSince(opened),
+                    "No search result: " + firstLine(e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    private boolean awaitResult() {
+        WebElement result = resultWaits.visible(searchResult);
+        return String.valueOf(result.getAttribute("class")).contains("Track_OrderInfo__");
+    }
+
+    // У исключений Selenium за первой строкой идёт длинная сводка о сессии
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    private static long millisSince(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - nanos);
+    }
+
+    public boolean isNotFoundMessageDisplayed() {
+        return Metrics.step("StatusPage.isNotFoundMessageDisplayed", () -> {
+            try {
+                resultWaits.visible(notFoundBlock);
+                WebElement image = driver.findElement(notFoundImage);
+                return image.isDisplayed();
+            } catch (Exception e) {
+                return false;
+            }
+        });
+    }
+
+    // Счётчики попаданий и промахов кэша элементов
+    public ElementCache getElementCache() {
+        return elements;
+    }
+}
@@ -0,0 +1,50 @@
+package stub;
+
+import java.util.List;
+
+// Содержимое локальной копии сайта: вопросы FAQ, станции метро, сроки аренды и цвета
+public final class FixtureData {
+
+    private FixtureData() {
+    }
+
+    public static final List<String> ACCORDION_QUESTIONS = List.of(
+            "Сколько это стоит? И как оплатить?",
+            "Хочу сразу несколько самокатов! Так можно?",
+            "Как рассчитывается время аренды?",
+            "Можно ли заказать самокат прямо на сегодня?",
+            "Можно ли продлить заказ или вернуть самокат раньше?",
+            "Вы привозите зарядку вместе с самокатом?",
+            "Можно ли отменить заказ?",
+            "Я жизу за МКАДом, привезёте?"
+    );
+
+    // Тексты ответов слово в слово как на сайте: по ним же MainTests и StaticContentTests проверяют аккордеон
+    public static final List<String> ACCORDION_ANSWERS = List.of(
+            "Сутки — 400 рублей. Оплата курьеру — наличными или картой.",
+            "Пока что у нас так: один заказ — один самокат. Если хотите покататься с друзьями, можете просто сделать несколько заказов — один за другим.",
+            "Допустим, вы оформляете заказ на 8 мая. Мы привозим самокат 8 мая в течение дня. Отсчёт времени аренды начинается с момента, когда вы оплатите заказ курьеру. Если мы привезли самокат 8 мая в 20:30, суточная аренда закончится 9 мая в 20:30.",
+            "Только начиная с завтрашнего дня. Но скоро станем расторопнее.",
+            "Пока что нет! Но если что-то срочное — всегда можно позвонить в поддержку по красивому номеру 1010.",
+            "Самокат приезжает к вам с полной зарядкой. Этого хватает на восемь суток — даже если будете кататься без передышек и во сне. Зарядка не понадобится.",
+            "Да, пока самокат не привезли. Штрафа не будет, объяснительной записки тоже не попросим. Все же свои.",
+            "Да, обязательно. Всем самокатов! И Москве, и Московской области."
+    );
+
+    // Сокольническая линия, в порядке следования
+    public static final List<String> METRO_STATIONS = List.of(
+            "Бульвар Рокоссовского", "Черкизовская", "Преображенская площадь", "Сокольники",
+            "Красносельская", "Комсомольская", "Красные Ворота", "Чистые пруды", "Лубянка",
+            "Охотный Ряд", "Библиотека имени Ленина", "Кропоткинская", "Парк культуры",
+            "Фрунзенская", "Спортивная", "Воробьёвы горы", "Университет", "Проспект Вернадского",
+            "Юго-Западная", "Тропарёво", "Румянцево", "Саларьево", "Филатов Луг", "Прокшино",
+            "Ольховая", "Коммунарка"
+    );
+
+    public static final List<String> RENTAL_PERIODS = List.of(
+            "сутки", "двое суток", "трое суток", "четверо суток", "пятеро суток", "шестеро суток", "семеро суток"
+    );
+
+    // Значения совпадают с id чекбоксов на форме
+    public static final List<String> COLORS = List.of("black", "grey");
+}
@@ -0,0 +1,237 @@
+package stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Локальная копия сайта самокатов внутри тестовой JVM: страницы, статика и заглушка API заказов
+public class ScooterStubServer {
+    private static volatile ScooterStubServer shared;
+
+    private final Json json = new Json();
+    private final Map<Integer, Map<String, Object>> orders = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTrack = new AtomicInteger(100000);
+    private final Map<String, byte[]> pages = new HashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ScooterStubServer() {
+        pages.put("index.html", render("index.html"));
+        pages.put("app.js", render("app.js"));
+        pages.put("app.css", resource("app.css"));
+        pages.put("analytics.js", resource("analytics.js"));
+        pages.put("scooter.png", resource("scooter.png"));
+        pages.put("not-found.png", resource("not-found.png"));
+    }
+
+    // Общий сервер на всю JVM; порт задаётся через scooter.stub.port (0 — любой свободный)
+    public static ScooterStubServer shared() {
+        ScooterStubServer instance = shared;
+        if (instance == null) {
+            synchronized (ScooterStubServer.class) {
+                instance = shared;
+                if (instance == null) {
+                    instance = new ScooterStubServer();
+                    instance.start(Integer.getInteger("scooter.stub.port", 0));
+                    Runtime.getRuntime().addShutdownHook(new Thread(instance::stop, "stub-server-shutdown"));
+                    shared = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void start(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start scooter stub server", e);
+        }
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/api/v1/orders", this::handleApi);
+        server.createContext("/static/", this::handleStatic);
+        server.createContext("/assets/", this::handleStatic);
+        server.createContext("/", this::handlePage);
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    public int orderCount() {
+        return orders.size();
+    }
+
+    // Любой путь приложения отдаёт одну и ту же страницу, маршрут дальше разбирает app.js
+    private void handlePage(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/") || path.equals("/order") || path.equals("/track")) {
+            send(exchange, 200, "text/html; charset=utf-8", pages.get("index.html"));
+        } else {
+            send(exchange, 404, "text/plain; charset=utf-8", "Not found".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void handleStatic(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        byte[] body = pages.get(path.substring(path.lastIndexOf('/') + 1));
+        if (body == null) {
+            send(exchange, 404, "text/plain; charset=utf-8", "Not found".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        send(exchange, 200, contentType(path), body);
+    }
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        if (method.equals("POST") && path.equals("/api/v1/orders")) {
+            Map<String, Object> order;
+            try (InputStream in = exchange.getRequestBody()) {
+                order = json.toType(new String(in.readAllBytes(), StandardCharsets.UTF_8), Json.MAP_TYPE);
+            } catch (RuntimeException e) {
+                sendJson(exchange, 400, error(400, "Недостаточно данных для создания заказа"));
+                return;
+            }
+            int track = nextTrack.incrementAndGet();
+            Map<String, Object> stored = new LinkedHashMap<>(order);
+            stored.put("track", track);
+            stored.put("status", 0);
+            orders.put(track, stored);
+            sendJson(exchange, 201, Map.of("track", track));
+        } else if (method.equals("GET") && path.equals("/api/v1/orders/track")) {
+            Map<String, Object> order = orders.get(parseTrack(query.get("t")));
+            if (order == null) {
+                sendJson(exchange, 404, error(404, "Заказ не найден"));
+            } else {
+                sendJson(exchange, 200, Map.of("order", order));
+            }
+        } else if (method.equals("PUT") && path.equals("/api/v1/orders/cancel")) {
+            if (orders.remove(parseTrack(query.get("track"))) == null) {
+                sendJson(exchange, 404, error(404, "Заказ не найден"));
+            } else {
+                sendJson(exchange, 200, Map.of("ok", true));
+            }
+        } else {
+            sendJson(exchange, 404, error(404, "Not found"));
+        }
+    }
+
+    private static Integer parseTrack(String value) {
+        try {
+            return value == null ? -1 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, Object> error(int code, String message) {
+        return Map.of("code", code, "message", message);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", json.toJson(body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".js")) {
+            return "application/javascript; charset=utf-8";
+        } else if (path.endsWith(".css")) {
+            return "text/css; charset=utf-8";
+        } else if (path.endsWith(".png")) {
+            return "image/png";
+        }
+        return "application/octet-stream";
+    }
+
+    // Подставляем данные из FixtureData, чтобы тексты и списки жили в одном месте
+    private byte[] render(String name) {
+        String template = new String(resource(name), StandardCharsets.UTF_8);
+        StringBuilder accordion = new StringBuilder();
+        for (int i = 0; i < FixtureData.ACCORDION_QUESTIONS.size(); i++) {
+            accordion.append("<div class=\"accordion__item\"><div class=\"accordion__heading\" role=\"heading\" aria-level=\"2\">")
+                    .append("<div class=\"accordion__button\" id=\"accordion__heading-").append(i)
+                    .append("\" role=\"button\" tabindex=\"0\" aria-expanded=\"false\" aria-controls=\"accordion__panel-")
+                    .append(i).append("\">").append(escape(FixtureData.ACCORDION_QUESTIONS.get(i))).append("</div></div>")
+                    .append("<div class=\"accordion__panel\" id=\"accordion__panel-").append(i)
+                    .append("\" role=\"region\" aria-labelledby=\"accordion__heading-").append(i).append("\" hidden>")
+                    .append("<p>").append(escape(FixtureData.ACCORDION_ANSWERS.get(i))).append("</p></div></div>");
+        }
+        return template
+                .replace("{{accordion}}", accordion)
+                .replace("{{stations}}", json.toJson(FixtureData.METRO_STATIONS))
+                .replace("{{rentalPeriods}}", json.toJson(FixtureData.RENTAL_PERIODS))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static byte[] resource(String name) {
+        try (InputStream in = ScooterStubServer.class.getResourceAsStream("/stub/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing stub fixture: /stub/" + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
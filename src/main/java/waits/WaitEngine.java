@@ -0,0 +1,187 @@
+package waits;
+
+import config.TestConfig;
+import metrics.InstrumentedWait;
+import metrics.Metrics;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Общий механизм ожиданий для page objects. Условие проверяется внутри страницы: один асинхронный
+// скрипт с MutationObserver отвечает, как только элемент появился/стал видимым/получил текст.
+// Опрос с драйвера (InstrumentedWait) — только запасной путь. Время до выполнения условия пишется в Metrics
+public class WaitEngine {
+
+    private static final Set<String> SUPPORTED_LOCATORS =
+            Set.of("xpath", "css selector", "id", "class name", "name", "tag name");
+
+    // Запас между отрезком ожидания в браузере и таймаутом скрипта сессии
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 1_000;
+
+    private static final String AWAIT_SCRIPT =
+            "var spec = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];" +
+            "function find() {" +
+            "  switch (spec.using) {" +
+            "    case 'xpath': return document.evaluate(spec.value, document, null," +
+            "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "    case 'css selector': return document.querySelector(spec.value);" +
+            "    case 'id': return document.getElementById(spec.value);" +
+            "    case 'class name': return document.getElementsByClassName(spec.value)[0] || null;" +
+            "    case 'name': return document.getElementsByName(spec.value)[0] || null;" +
+            "    case 'tag name': return document.getElementsByTagName(spec.value)[0] || null;" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "function visible(el) {" +
+            "  if (!el.getClientRects().length) { return false; }" +
+            "  var style = window.getComputedStyle(el);" +
+            "  return style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';" +
+            "}" +
+            "function check() {" +
+            "  var el = find();" +
+            "  if (!el) { return null; }" +
+            "  if (spec.kind === 'present') { return el; }" +
+            "  if (!visible(el)) { return null; }" +
+            "  if (spec.kind === 'clickable' && el.disabled) { return null; }" +
+            "  if (spec.kind === 'text' && (el.textContent || '').indexOf(spec.text) < 0) { return null; }" +
+            "  return el;" +
+            "}" +
+            "var first = check();" +
+            "if (first) { done(first); return; }" +
+            "var finished = false, observer = null, timer, ticker;" +
+            "function finish(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  if (observer) { observer.disconnect(); }" +
+            "  clearTimeout(timer); clearInterval(ticker);" +
+            "  done(result);" +
+            "}" +
+            "function recheck() { var el = check(); if (el) { finish(el); } }" +
+            "if (window.MutationObserver) {" +
+            "  observer = new MutationObserver(recheck);" +
+            "  observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "}" +
+            // Переходы CSS и анимации не всегда дают мутации: редкая проверка внутри страницы, без обращений к драйверу
+            "ticker = setInterval(recheck, 100);" +
+            "timer = setTimeout(function () { finish(null); }, timeoutMs);";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public WaitEngine(WebDriver driver) {
+        this(driver, TestConfig.waitTimeout());
+    }
+
+    public WaitEngine(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    // Тот же движок с другим таймаутом, например TestConfig.longWaitTimeout()
+    public WaitEngine withTimeout(Duration timeout) {
+        return new WaitEngine(driver, timeout);
+    }
+
+    public WebElement present(By locator) {
+        return await("present", locator, null, ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
+    public WebElement visible(By locator) {
+        return await("visible", locator, null, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    public WebElement clickable(By locator) {
+        return await("clickable", locator, null, ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    // Видимый элемент, в тексте которого есть text
+    public WebElement text(By locator, String text) {
+        ExpectedCondition<WebElement> fallback = d -> {
+            WebElement element = ExpectedConditions.visibilityOfElementLocated(locator).apply(d);
+            return element != null && element.getText().contains(text) ? element : null;
+        };
+        return await("text", locator, text, fallback);
+    }
+
+    // Условие вне DOM (куки, состояние драйвера) внутри страницы не проверить: только опрос, но с тем же
+    // таймаутом и метрикой времени, что и у остальных ожиданий
+    public <T> T until(String kind, ExpectedCondition<T> condition) {
+        long start = System.nanoTime();
+        return poll(kind, condition, start, start + timeout.toNanos());
+    }
+
+    private WebElement await(String kind, By locator, String text, ExpectedCondition<WebElement> fallback) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Map<String, Object> spec = specFor(kind, locator, text);
+        if (spec != null && driver instanceof JavascriptExecutor) {
+            try {
+                long chunkMs = Math.max(100, TestConfig.scriptTimeout().toMillis() - SCRIPT_TIMEOUT_MARGIN_MS);
+                while (true) {
+                    long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+                    if (remainingMs <= 0) {
+                        break;
+                    }
+                    Object result = ((JavascriptExecutor) driver)
+                            .executeAsyncScript(AWAIT_SCRIPT, spec, Math.min(remainingMs, chunkMs));
+                    if (result instanceof WebElement) {
+                        Metrics.record(Metrics.WAIT_CONDITION + kind, System.nanoTime() - start);
+                        return (WebElement) result;
+                    }
+                }
+                throw new TimeoutException("Expected condition failed: waiting for " + kind + " " + locator
+                        + (text == null ? "" : " with text '" + text + "'")
+                        + " (tried for " + timeout.toMillis() + " ms)");
+            } catch (TimeoutException e) {
+                throw e;
+            } catch (WebDriverException e) {
+                // Документ сменился во время ожидания или скрипты недоступны — дожидаемся опросом
+                System.out.println("Observer wait for " + locator + " fell back to polling: " + firstLine(e));
+            }
+        }
+        return poll(kind, fallback, start, deadline);
+    }
+
+    private <T> T poll(String kind, ExpectedCondition<T> condition, long start, long deadline) {
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        InstrumentedWait wait = new InstrumentedWait(driver, Duration.ofNanos(remaining));
+        wait.pollingEvery(TestConfig.waitPollingInterval());
+        T result = wait.until(condition);
+        Metrics.record(Metrics.WAIT_FALLBACK + kind, System.nanoTime() - start);
+        return result;
+    }
+
+    private static Map<String, Object> specFor(String kind, By locator, String text) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        if (!SUPPORTED_LOCATORS.contains(parameters.using())) {
+            return null;
+        }
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("kind", kind);
+        spec.put("using", parameters.using());
+        spec.put("value", String.valueOf(parameters.value()));
+        if (text != null) {
+            spec.put("text", text);
+        }
+        return spec;
+    }
+
+    private static String firstLine(Exception e) {
+        String message = String.valueOf(e.getMessage());
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+}
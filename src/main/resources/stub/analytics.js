@@ -0,0 +1,2 @@
+// Заглушка счётчика аналитики: на сайте грузится сторонний скрипт, здесь он ничего не делает
+window.analyticsQueue = window.analyticsQueue || [];
@@ -0,0 +1,307 @@
+// Поведение локальной копии сайта: маршруты, аккордеон, куки-баннер, форма заказа и трекинг.
+// Поля формы ведут себя как контролируемые инпуты React: значение попадает в состояние только по событию input.
+(function () {
+    var fixture = window.__FIXTURE__;
+    var content = document.getElementById('content');
+    var homeHtml = content.innerHTML;
+    var state = null;
+
+    function esc(text) {
+        return String(text).replace(/&/g, '&amp;').replace(/</g, '&lt;').replace(/>/g, '&gt;').replace(/"/g, '&quot;');
+    }
+
+    // Запросы к API через XHR, как axios в настоящем приложении
+    function request(method, url, body, callback) {
+        var xhr = new XMLHttpRequest();
+        xhr.open(method, url);
+        xhr.setRequestHeader('Content-Type', 'application/json');
+        xhr.onload = function () {
+            callback(xhr.status, xhr.responseText ? JSON.parse(xhr.responseText) : null);
+        };
+        xhr.send(body == null ? null : JSON.stringify(body));
+    }
+
+    function navigate(url) {
+        history.pushState({}, '', url);
+        render();
+    }
+
+    function render() {
+        document.querySelector('.Header_SearchInput__3YRIQ').hidden = true;
+        var path = location.pathname;
+        if (path === '/order') {
+            renderOrder();
+        } else if (path === '/track') {
+            renderTrack(new URLSearchParams(location.search).get('t') || '');
+        } else {
+            content.innerHTML = homeHtml;
+        }
+    }
+
+    // --- Куки-баннер ---
+    var banner = document.querySelector('.App_CookieConsent__1yUIN');
+    banner.hidden = document.cookie.indexOf('Cartoshka=true') !== -1;
+    document.getElementById('rcc-confirm-button').addEventListener('click', function () {
+        document.cookie = 'Cartoshka=true; path=/; max-age=31536000';
+        document.cookie = 'Cartoshka-legacy=true; path=/; max-age=31536000';
+        banner.hidden = true;
+    });
+
+    // --- Шапка ---
+    document.querySelector('.Header_Nav__AGCXC .Button_Button__ra12g').addEventListener('click', function () {
+        navigate('/order');
+    });
+    document.querySelector('.Header_Link__1TAG7').addEventListener('click', function () {
+        var search = document.querySelector('.Header_SearchInput__3YRIQ');
+        search.hidden = !search.hidden;
+    });
+    document.querySelector('.Header_Button__28dPO').addEventListener('click', function () {
+        var number = document.querySelector('.Header_Input__xIoUq').value.trim();
+        navigate('/track?t=' + encodeURIComponent(number));
+    });
+
+    // --- Главная: нижняя кнопка и аккордеон (раскрыт не больше одного пункта) ---
+    content.addEventListener('click', function (event) {
+        if (event.target.closest('.Home_FinishButton__1_cWm button')) {
+            navigate('/order');
+            return;
+        }
+        var heading = event.target.closest('.accordion__button');
+        if (!heading) {
+            return;
+        }
+        var panel = document.getElementById(heading.getAttribute('aria-controls'));
+        var expand = panel.hidden;
+        content.querySelectorAll('.accordion__panel').forEach(function (other) {
+            other.hidden = true;
+        });
+        content.querySelectorAll('.accordion__button').forEach(function (other) {
+            other.setAttribute('aria-expanded', 'false');
+        });
+        panel.hidden = !expand;
+        heading.setAttribute('aria-expanded', String(expand));
+    });
+
+    // --- Форма заказа ---
+    function input(placeholder, className) {
+        return '<div class="Input_InputContainer__3NykH"><input class="' + (className || 'Input_Input__1iN_Z Input_Responsible__1jDKN')
+            + '" placeholder="' + placeholder + '" type="text" value="">'
+            + '<div class="Input_ErrorMessage__3HvIb" hidden></div></div>';
+    }
+
+    function renderOrder() {
+        state = {step: 1, name: '', surname: '', address: '', metro: 0, phone: '',
+            date: '', rentalPeriod: 0, colors: [], comment: ''};
+        renderUserStep();
+    }
+
+    function renderUserStep() {
+        var options = fixture.stations.map(function (station, i) {
+            return '<li class="select-search__row" role="menuitem" data-index="' + i + '">'
+                + '<button class="Order_SelectOption__82bhS select-search__option" value="' + (i + 1) + '" tabindex="-1">'
+                + '<div class="Order_Icon__3ifFT">' + (i + 1) + '</div><div class="Order_Text__2broi">' + esc(station) + '</div>'
+                + '</button></li>';
+        }).join('');
+        content.innerHTML = '<div class="Order_Content__bmtHS"><div class="Order_Header__BZXOb">Для кого самокат</div>'
+            + '<div class="Order_Form__17u6u">'
+            + input('* Имя') + input('* Фамилия') + input('* Адрес: куда привезти заказ')
+            + '<div class="Order_MetroSelect__1dUZ8"><div class="select-search"><div class="select-search__value">'
+            + '<input class="select-search__input" placeholder="* Станция метро" tabindex="0" autocomplete="off" value="">'
+            + '</div><div class="select-search__select" hidden><ul class="select-search__options">' + options + '</ul></div></div>'
+            + '<div class="Order_MetroError__1BtZb Input_ErrorMessage__3HvIb" hidden>Выберите станцию</div></div>'
+            + input('* Телефон: на него позвонит курьер')
+            + '</div><div class="Order_NextButton__1_rCA"><button class="Button_Button__ra12g Button_Middle__1CSJM">Далее</button></div></div>';
+
+        bindText('* Имя', 'name');
+        bindText('* Фамилия', 'surname');
+        bindText('* Адрес: куда привезти заказ', 'address');
+        bindText('* Телефон: на него позвонит курьер', 'phone');
+
+        var metro = content.querySelector('.select-search__input');
+        var list = content.querySelector('.select-search__select');
+        metro.addEventListener('focus', function () { list.hidden = false; });
+        metro.addEventListener('click', function () { list.hidden = false; });
+        metro.addEventListener('input', function () {
+            state.metro = 0;
+            var filter = metro.value.toLowerCase();
+            list.hidden = false;
+            list.querySelectorAll('.select-search__row').forEach(function (row) {
+                row.hidden = row.textContent.toLowerCase().indexOf(filter) === -1;
+            });
+        });
+        list.addEventListener('click', function (event) {
+            var option = event.target.closest('.select-search__option');
+            if (!option) {
+                return;
+            }
+            state.metro = Number(option.value);
+            metro.value = fixture.stations[state.metro - 1];
+            list.hidden = true;
+        });
+
+        content.querySelector('.Order_NextButton__1_rCA button').addEventListener('click', function () {
+            var valid = check('* Имя', /^[а-яА-ЯёЁ\s-]{2,15}$/.test(state.name), 'Введите корректное имя')
+                & check('* Фамилия', /^[а-яА-ЯёЁ\s-]{2,15}$/.test(state.surname), 'Введите корректную фамилию')
+                & check('* Адрес: куда привезти заказ', /^[а-яА-ЯёЁ0-9\s,.\-]{5,50}$/.test(state.address), 'Введите корректный адрес')
+                & check('* Телефон: на него позвонит курьер', /^\+?\d{10,12}$/.test(state.phone), 'Введите корректный номер');
+            content.querySelector('.Order_MetroError__1BtZb').hidden = state.metro > 0;
+            if (valid && state.metro > 0) {
+                state.step = 2;
+                renderRentStep();
+            }
+        });
+    }
+
+    function renderRentStep() {
+        var options = fixture.rentalPeriods.map(function (period, i) {
+            return '<div class="Dropdown-option" role="option" aria-selected="false" data-days="' + (i + 1) + '">' + esc(period) + '</div>';
+        }).join('');
+        content.innerHTML = '<div class="Order_Content__bmtHS"><div class="Order_Header__BZXOb">Про аренду</div>'
+            + '<div class="Order_Form__17u6u">'
+            + '<div class="Order_DateInput__2Jfgm"><div class="react-datepicker-wrapper"><div class="react-datepicker__input-container">'
+            + input('* Когда привезти самокат') + '</div></div>'
+            + '<div class="react-datepicker-popper" hidden><div class="react-datepicker__month">Выберите дату</div></div></div>'
+            + '<div class="Dropdown-root"><div class="Dropdown-control" aria-haspopup="listbox">'
+            + '<div class="Dropdown-placeholder">* Срок аренды</div><div class="Dropdown-arrow-wrapper"><span class="Dropdown-arrow"></span></div>'
+            + '</div><div class="Dropdown-menu" aria-expanded="true" hidden>' + options + '</div></div>'
+            + '<div class="Order_Checkboxes__3lWSI"><div class="Order_Title__3EKne">Цвет самоката</div>'
+            + '<label class="Checkbox_Label__3wxSf" for="black"><input id="black" class="Checkbox_Input__14A2w" type="checkbox">чёрный жемчуг</label>'
+            + '<label class="Checkbox_Label__3wxSf" for="grey"><input id="grey" class="Checkbox_Input__14A2w" type="checkbox">серая безысходность</label>'
+            + '</div>' + input('Комментарий для курьера')
+            + '</div><div class="Order_NextButton__1_rCA">'
+            + '<button class="Button_Button__ra12g Button_Middle__1CSJM Button_Inverted__3IF-i">Назад</button>'
+            + '<button class="Button_Button__ra12g Button_Middle__1CSJM">Заказать</button></div></div>';
+
+        var date = find('* Когда привезти самокат');
+        var popper = content.querySelector('.react-datepicker-popper');
+        date.addEventListener('focus', function () { popper.hidden = false; });
+        date.addEventListener('input', function () { state.date = date.value.trim(); });
+        date.addEventListener('keydown', function (event) {
+            if (event.key === 'Enter') {
+                popper.hidden = true;
+            }
+        });
+        date.addEventListener('blur', function () { popper.hidden = true; });
+
+        var control = content.querySelector('.Dropdown-control');
+        var menu = content.querySelector('.Dropdown-menu');
+        control.addEventListener('click', function () { menu.hidden = !menu.hidden; });
+        menu.addEventListener('click', function (event) {
+            var option = event.target.closest('.Dropdown-option');
+            if (!option) {
+                return;
+            }
+            state.rentalPeriod = Number(option.getAttribute('data-days'));
+            var placeholder = content.querySelector('.Dropdown-placeholder');
+            placeholder.textContent = option.textContent;
+            placeholder.className = 'Dropdown-placeholder is-selected';
+            menu.hidden = true;
+        });
+
+        ['black', 'grey'].forEach(function (color) {
+            document.getElementById(color).addEventListener('change', function (event) {
+                state.colors = state.colors.filter(function (c) { return c !== color; });
+                if (event.target.checked) {
+                    state.colors.push(color);
+                }
+            });
+        });
+        bindText('Комментарий для курьера', 'comment');
+
+        var buttons = content.querySelectorAll('.Order_NextButton__1_rCA button');
+        buttons[0].addEventListener('click', renderUserStep);
+        buttons[1].addEventListener('click', function () {
+            var valid = check('* Когда привезти самокат', /^\d{2}\.\d{2}\.\d{4}$/.test(state.date), 'Выберите дату');
+            if (valid && state.rentalPeriod > 0) {
+                showConfirmModal();
+            }
+        });
+    }
+
+    function showConfirmModal() {
+        var overlay = document.createElement('div');
+        overlay.className = 'Order_Overlay__3KW-T';
+        var modal = document.createElement('div');
+        modal.className = 'Order_Modal__YZ-d3';
+        modal.innerHTML = '<div class="Order_ModalHeader__3FDaJ">Хотите оформить заказ?<div class="Order_Text__2broi"></div></div>'
+            + '<div class="Order_Buttons__1xGrp">'
+            + '<button class="Button_Button__ra12g Button_Middle__1CSJM Button_Inverted__3IF-i">Нет</button>'
+            + '<button class="Button_Button__ra12g Button_Middle__1CSJM">Да</button></div>';
+        content.appendChild(overlay);
+        content.appendChild(modal);
+
+        var buttons = modal.querySelectorAll('button');
+        buttons[0].addEventListener('click', function () {
+            overlay.remove();
+            modal.remove();
+        });
+        buttons[1].addEventListener('click', function () {
+            var parts = state.date.split('.');
+            request('POST', '/api/v1/orders', {
+                firstName: state.name, lastName: state.surname, address: state.address,
+                metroStation: state.metro, phone: state.phone, rentTime: state.rentalPeriod,
+                deliveryDate: parts[2] + '-' + parts[1] + '-' + parts[0], comment: state.comment,
+                color: state.colors.map(function (c) { return c.toUpperCase(); })
+            }, function (status, body) {
+                modal.innerHTML = '<div class="Order_ModalHeader__3FDaJ">Заказ оформлен<div class="Order_Text__2broi">'
+                    + 'Номер заказа: ' + body.track + '. Запишите его:<br> пригодится, чтобы отслеживать статус</div></div>'
+                    + '<div class="Order_NextButton__1_rCA"><button class="Button_Button__ra12g Button_Middle__1CSJM">Посмотреть статус</button></div>';
+                modal.querySelector('button').addEventListener('click', function () {
+                    navigate('/track?t=' + body.track);
+                });
+            });
+        });
+    }
+
+    function find(placeholder) {
+        return content.querySelector('input[placeholder="' + placeholder + '"]');
+    }
+
+    function bindText(placeholder, field) {
+        var element = find(placeholder);
+        element.addEventListener('input', function () { state[field] = element.value.trim(); });
+    }
+
+    function check(placeholder, ok, message) {
+        var error = find(placeholder).parentNode.querySelector('.Input_ErrorMessage__3HvIb');
+        error.textContent = message;
+        error.hidden = ok;
+        return ok ? 1 : 0;
+    }
+
+    // --- Статус заказа ---
+    function renderTrack(number) {
+        content.innerHTML = '<div class="Track_Content__St6Kn"><div class="Track_Form__N4FE3">'
+            + '<div class="Input_InputContainer__3NykH"><input class="Input_Input__1iN_Z Track_Input__1g7lq" placeholder="Введите номер заказа" type="text" value="' + esc(number) + '"></div>'
+            + '<button class="Button_Button__ra12g Track_Button__2pqcu">Посмотреть</button></div>'
+            + '<div class="Track_Result__3ZVs9"></div></div>';
+        content.querySelector('.Track_Button__2pqcu').addEventListener('click', function () {
+            navigate('/track?t=' + encodeURIComponent(content.querySelector('.Track_Input__1g7lq').value.trim()));
+        });
+        var result = content.querySelector('.Track_Result__3ZVs9');
+        request('GET', '/api/v1/orders/track?t=' + encodeURIComponent(number), null, function (status, body) {
+            if (status !== 200) {
+                result.innerHTML = '<div class="Track_NotFound__6oaoY"><img src="/assets/not-found.png" alt="Not found"></div>';
+                return;
+            }
+            var order = body.order;
+            var rows = [
+                ['Имя', order.firstName], ['Фамилия', order.lastName], ['Адрес', order.address],
+                ['Станция метро', fixture.stations[order.metroStation - 1] || order.metroStation],
+                ['Телефон', order.phone], ['Дата доставки', order.deliveryDate],
+                ['Срок аренды', fixture.rentalPeriods[order.rentTime - 1] || order.rentTime],
+                ['Цвет', (order.color || []).join(', ')], ['Комментарий', order.comment]
+            ];
+            result.innerHTML = '<div class="Track_OrderInfo__2fpDL" data-track="' + esc(order.track) + '">'
+                + rows.map(function (row) {
+                    return '<div class="Track_Row__1sN1F"><div class="Track_Title__1XfhB">' + row[0] + '</div>'
+                        + '<div class="Track_Value__15eEX">' + esc(row[1] == null ? '' : row[1]) + '</div></div>';
+                }).join('') + '</div>';
+        });
+    }
+
+    window.addEventListener('popstate', render);
+    if (location.pathname !== '/') {
+        render();
+    }
+})();
@@ -0,0 +1,95 @@
+package data;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class OrderScenariosTest {
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("order-scenarios", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void quotedCellsKeepCommasAndQuotes() {
+        Assert.assertEquals(List.of("ул. Ленина, 1", "Сказал \"да\"", "", "x"),
+                OrderScenarios.parseCsvLine("\"ул. Ленина, 1\",\"Сказал \"\"да\"\"\",,x"));
+    }
+
+    @Test
+    public void unquotedCellsAreTrimmed() {
+        Assert.assertEquals(List.of("Иван", "Иванов"), OrderScenarios.parseCsvLine(" Иван , Иванов "));
+    }
+
+    @Test
+    public void csvWithBomAndReorderedColumnsIsRead() throws IOException {
+        write("\uFEFFphone,name,surname,address,metroStation,date,color",
+                "+79990000001,Иван,Иванов,\"ул. Ленина, 1\",Сокольники,01.01.2030,black",
+                "",
+                "+79990000002,Анна,Смирнова,пр. Мира,Черкизовская,02.01.2030,grey");
+
+        List<OrderScenario> rows = read();
+
+        Assert.assertEquals("Пустые строки файла пропускаются", 2, rows.size());
+        OrderScenario first = rows.get(0);
+        Assert.assertEquals("Иван", first.getName());
+        Assert.assertEquals("+79990000001", first.getPhone());
+        Assert.assertEquals("ул. Ленина, 1", first.getAddress());
+        Assert.assertEquals("Без колонки rentalPeriod срок аренды — сутки", "сутки", first.getRentalPeriod());
+        Assert.assertEquals("Без колонки comment комментарий пустой", "", first.getComment());
+    }
+
+    @Test
+    public void emptyOptionalCellsUseDefaults() throws IOException {
+        write("name,surname,address,metroStation,phone,date,rentalPeriod,color,comment",
+                "Иван,Иванов,ул. Ленина,Сокольники,+79990000001,01.01.2030,,black,",
+                "Петр,Петров,ул. Пушкина,Фрунзенская,+79990000002,01.01.2030,двое суток,grey,Позвонить");
+
+        List<OrderScenario> rows = read();
+
+        Assert.assertEquals("сутки", rows.get(0).getRentalPeriod());
+        Assert.assertEquals("", rows.get(0).getComment());
+        Assert.assertEquals("двое суток", rows.get(1).getRentalPeriod());
+        Assert.assertEquals("Позвонить", rows.get(1).getComment());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingRequiredColumnIsRejected() throws IOException {
+        write("name,surname,address,metroStation,date,color", "Иван,Иванов,ул. Ленина,Сокольники,01.01.2030,black");
+
+        read();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyRequiredCellIsRejected() throws IOException {
+        write("name,surname,address,metroStation,phone,date,color", "Иван,,ул. Ленина,Сокольники,+7999,01.01.2030,black");
+
+        read();
+    }
+
+    private void write(String... lines) throws IOException {
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    private List<OrderScenario> read() {
+        try (Stream<OrderScenario> rows = OrderScenarios.csv(file)) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+}
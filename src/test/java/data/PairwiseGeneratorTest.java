@@ -0,0 +1,60 @@
+package data;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class PairwiseGeneratorTest {
+    private static final List<List<String>> DOMAINS = List.of(
+            List.of("a1", "a2", "a3"),
+            List.of("b1", "b2"),
+            List.of("c1", "c2", "c3", "c4"),
+            List.of("d1"),
+            List.of("e1", "e2", "e3")
+    );
+
+    @Test
+    public void everyValuePairIsCovered() {
+        List<List<String>> rows = new PairwiseGenerator(DOMAINS, 42).stream().collect(Collectors.toList());
+
+        Set<String> covered = new HashSet<>();
+        for (List<String> row : rows) {
+            Assert.assertEquals("В строке должно быть значение каждого поля", DOMAINS.size(), row.size());
+            for (int i = 0; i < row.size(); i++) {
+                Assert.assertTrue("Значение не из своего поля: " + row.get(i), DOMAINS.get(i).contains(row.get(i)));
+                for (int j = i + 1; j < row.size(); j++) {
+                    covered.add(i + "=" + row.get(i) + "," + j + "=" + row.get(j));
+                }
+            }
+        }
+        for (int i = 0; i < DOMAINS.size(); i++) {
+            for (int j = i + 1; j < DOMAINS.size(); j++) {
+                for (String first : DOMAINS.get(i)) {
+                    for (String second : DOMAINS.get(j)) {
+                        Assert.assertTrue("Не покрыта пара " + first + " + " + second,
+                                covered.contains(i + "=" + first + "," + j + "=" + second));
+                    }
+                }
+            }
+        }
+        Assert.assertTrue("Строк должно быть меньше полного перебора: " + rows.size(),
+                rows.size() < new PairwiseGenerator(DOMAINS, 42).exhaustiveSize());
+    }
+
+    @Test
+    public void sameSeedGivesSameRows() {
+        List<List<String>> first = new PairwiseGenerator(DOMAINS, 7).stream().collect(Collectors.toList());
+        List<List<String>> second = new PairwiseGenerator(DOMAINS, 7).stream().collect(Collectors.toList());
+
+        Assert.assertEquals("Один seed должен давать одни и те же строки", first, second);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyFieldIsRejected() {
+        new PairwiseGenerator(List.of(List.of("a"), List.of()), 1);
+    }
+}
@@ -0,0 +1,100 @@
+package driver;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Пул на поддельных браузерах: проверяем, что ни одна запущенная сессия не остаётся без quit()
+public class DriverPoolTest {
+    private final AtomicInteger launched = new AtomicInteger();
+    private final Set<WebDriver> quit = ConcurrentHashMap.newKeySet();
+
+    @Test
+    public void sessionFailingPreparationIsQuit() {
+        DriverPool pool = new DriverPool(this::fakeBrowser, 1, 5, driver -> {
+            throw new WebDriverException("DevTools unavailable");
+        });
+
+        try {
+            pool.borrow();
+            Assert.fail("Неподготовленная сессия выдана тесту");
+        } catch (WebDriverException expected) {
+            // Ошибка подготовки доходит до теста
+        }
+
+        Assert.assertEquals(1, launched.get());
+        Assert.assertEquals("Браузер, который не удалось подготовить, не закрыт", 1, quit.size());
+    }
+
+    @Test
+    public void leaseIsReturnedWhenPreparationFails() {
+        AtomicInteger attempts = new AtomicInteger();
+        DriverPool pool = new DriverPool(this::fakeBrowser, 1, 5, driver -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Network profile failed");
+            }
+        });
+
+        try {
+            pool.borrow();
+            Assert.fail("Неподготовленная сессия выдана тесту");
+        } catch (IllegalStateException expected) {
+            // Первая сессия не подготовилась
+        }
+        // Единственное место в пуле свободно: иначе здесь был бы вечный захват
+        WebDriver driver = pool.borrow();
+
+        Assert.assertEquals(2, launched.get());
+        Assert.assertFalse("Выдана закрытая сессия", quit.contains(driver));
+        pool.release(driver);
+        pool.shutdown();
+        Assert.assertEquals("После остановки пула остались браузеры", 2, quit.size());
+    }
+
+    @Test
+    public void sessionFailingResetPreparationIsQuit() {
+        AtomicInteger attempts = new AtomicInteger();
+        DriverPool pool = new DriverPool(this::fakeBrowser, 1, 5, driver -> {
+            if (attempts.incrementAndGet() == 2) {
+                throw new IllegalStateException("Session state injection failed");
+            }
+        });
+
+        WebDriver driver = pool.borrow();
+        pool.release(driver);
+
+        Assert.assertTrue("Сессия со сломанной очисткой не закрыта", quit.contains(driver));
+        Assert.assertNotSame("Сломанная сессия вернулась в пул", driver, pool.borrow());
+    }
+
+    // Браузер, который соглашается на любую команду и запоминает quit()
+    private WebDriver fakeBrowser() {
+        launched.incrementAndGet();
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "manage":
+                            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                    new Class<?>[]{WebDriver.Options.class}, (options, call, callArgs) -> null);
+                        case "quit":
+                            quit.add((WebDriver) proxy);
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "FakeBrowser@" + Integer.toHexString(System.identityHashCode(proxy));
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
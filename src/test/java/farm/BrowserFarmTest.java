@@ -0,0 +1,234 @@
+package farm;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Ферма поверх поддельного chromedriver: бэкенд только раздаёт номера сессий и помнит, какие из них живы
+public class BrowserFarmTest {
+    private static final Duration LONG = Duration.ofMinutes(5);
+
+    private final Set<String> alive = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger created = new AtomicInteger();
+    private HttpServer backend;
+    private BrowserFarm farm;
+
+    @Before
+    public void startBackend() throws IOException {
+        backend = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        backend.setExecutor(Executors.newCachedThreadPool());
+        backend.createContext("/", this::handle);
+        backend.start();
+    }
+
+    @After
+    public void stopAll() {
+        if (farm != null) {
+            farm.stop();
+        }
+        backend.stop(0);
+    }
+
+    @Test
+    public void returnedSessionIsReused() throws Exception {
+        farm = farm(2, 0, 3, LONG, LONG, LONG);
+        farm.start(0, LONG);
+
+        RemoteWebDriver first = new RemoteWebDriver(hub(), new ChromeOptions());
+        String id = first.getSessionId().toString();
+        Assert.assertEquals("Команда не дошла до браузера", "Fake " + id, first.getTitle());
+        first.quit();
+        RemoteWebDriver second = new RemoteWebDriver(hub(), new ChromeOptions());
+
+        Assert.assertEquals("Возвращённая сессия не выдана повторно", id, second.getSessionId().toString());
+        Assert.assertEquals("Для второго клиента запущен новый браузер", 1, created.get());
+        Assert.assertEquals(1, stat("reused"));
+        second.quit();
+    }
+
+    @Test
+    public void newSessionIsRefusedAfterQueueTimeout() throws Exception {
+        farm = farm(1, 0, 3, LONG, LONG, Duration.ofMillis(300));
+        farm.start(0, LONG);
+        RemoteWebDriver holder = new RemoteWebDriver(hub(), new ChromeOptions());
+
+        long start = System.nanoTime();
+        try {
+            new RemoteWebDriver(hub(), new ChromeOptions());
+            Assert.fail("Сессия сверх предела фермы выдана");
+        } catch (SessionNotCreatedException expected) {
+            long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Assert.assertTrue("Отказ раньше таймаута очереди: " + waited + " мс", waited >= 300);
+        }
+        Assert.assertEquals(1, stat("refused"));
+        Assert.assertEquals("Лишний браузер запущен", 1, created.get());
+        holder.quit();
+    }
+
+    @Test
+    public void queuedRequestGetsReleasedSession() throws Exception {
+        farm = farm(1, 0, 3, LONG, LONG, Duration.ofSeconds(5));
+        FarmSession held = farm.acquire();
+        ExecutorService waiter = Executors.newSingleThreadExecutor();
+        try {
+            Future<FarmSession> queued = waiter.submit(farm::acquire);
+            Thread.sleep(200);
+            Assert.assertFalse("Запрос не встал в очередь", queued.isDone());
+
+            farm.release(held);
+            FarmSession next = queued.get(2, TimeUnit.SECONDS);
+            Assert.assertNotNull("Очередь не дождалась освободившейся сессии", next);
+            Assert.assertEquals(held.id(), next.id());
+        } finally {
+            waiter.shutdownNow();
+        }
+    }
+
+    @Test
+    public void abandonedLeaseIsReclaimed() throws Exception {
+        farm = farm(2, 0, 3, LONG, Duration.ofMillis(100), LONG);
+        farm.start(0, LONG);
+        RemoteWebDriver abandoned = new RemoteWebDriver(hub(), new ChromeOptions());
+
+        Thread.sleep(250);
+        farm.maintain();
+
+        Assert.assertTrue("Брошенная сессия не закрыта в бэкенде: " + alive, alive.isEmpty());
+        Assert.assertEquals(0, stat("sessions"));
+        try {
+            abandoned.getTitle();
+            Assert.fail("Брошенная сессия всё ещё принимает команды");
+        } catch (NoSuchSessionException expected) {
+            // Клиент узнаёт, что аренда истекла
+        }
+    }
+
+    @Test
+    public void idleSessionsAboveMinIdleAreEvicted() throws Exception {
+        farm = farm(3, 1, 3, Duration.ofMillis(100), LONG, LONG);
+        FarmSession first = farm.acquire();
+        FarmSession second = farm.acquire();
+        FarmSession third = farm.acquire();
+        farm.release(first);
+        farm.release(second);
+        farm.release(third);
+
+        Thread.sleep(250);
+        farm.maintain();
+
+        Assert.assertEquals("Простаивающих сессий больше minIdle", 1, stat("idle"));
+        Assert.assertEquals("Выселенные браузеры не закрыты: " + alive, 1, alive.size());
+        // Выселяются самые давние, последняя возвращённая остаётся тёплой
+        Assert.assertTrue("Выселена последняя возвращённая сессия", alive.contains(third.id()));
+    }
+
+    @Test
+    public void sessionFailingHealthCheckIsReplaced() throws Exception {
+        farm = farm(2, 1, 3, LONG, LONG, LONG);
+        farm.maintain();
+        Assert.assertEquals("Ферма не прогрела minIdle", 1, alive.size());
+        String warm = alive.iterator().next();
+
+        // Браузер умер за спиной фермы
+        alive.clear();
+        farm.maintain();
+
+        Assert.assertEquals(1, stat("discarded"));
+        Assert.assertEquals("Упавшая сессия не заменена", 1, stat("idle"));
+        Assert.assertEquals(1, alive.size());
+        Assert.assertFalse("Упавшая сессия осталась в пуле", alive.contains(warm));
+    }
+
+    @Test
+    public void wornOutSessionIsClosed() throws Exception {
+        farm = farm(2, 0, 1, LONG, LONG, LONG);
+        farm.release(farm.acquire());
+
+        Assert.assertTrue("Отработавшая своё сессия не закрыта: " + alive, alive.isEmpty());
+        Assert.assertEquals(0, stat("sessions"));
+    }
+
+    @Test
+    public void stopClosesAllSessions() throws Exception {
+        farm = farm(3, 0, 3, LONG, LONG, LONG);
+        farm.start(0, LONG);
+        farm.release(farm.acquire());
+        new RemoteWebDriver(hub(), new ChromeOptions());
+        new RemoteWebDriver(hub(), new ChromeOptions());
+        Assert.assertEquals(2, alive.size());
+
+        farm.stop();
+        farm = null;
+
+        Assert.assertTrue("После остановки фермы остались браузеры: " + alive, alive.isEmpty());
+    }
+
+    private BrowserFarm farm(int maxSessions, int minIdle, int maxReuse,
+                             Duration idleTimeout, Duration leaseTimeout, Duration queueTimeout) {
+        String backendUrl = "http://localhost:" + backend.getAddress().getPort();
+        return new BrowserFarm(new WebDriverBackend(backendUrl), new ChromeOptions().asMap(),
+                maxSessions, minIdle, maxReuse, 0, idleTimeout, leaseTimeout, queueTimeout);
+    }
+
+    private URL hub() throws IOException {
+        return new URL(farm.url() + "wd/hub");
+    }
+
+    private long stat(String name) {
+        return ((Number) farm.stats().get(name)).longValue();
+    }
+
+    // Ровно то, чем ферма пользуется: создание, удаление, заголовок и пустой ответ на всё остальное
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.readAllBytes();
+        }
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        int status = 200;
+        String body;
+        if (method.equals("POST") && path.length == 2) {
+            String id = "s" + created.incrementAndGet();
+            alive.add(id);
+            body = "{\"value\":{\"sessionId\":\"" + id + "\",\"capabilities\":{\"browserName\":\"chrome\"}}}";
+        } else if (!alive.contains(path[2])) {
+            status = 404;
+            body = "{\"value\":{\"error\":\"invalid session id\",\"message\":\"No session " + path[2]
+                    + "\",\"stacktrace\":\"\"}}";
+        } else if (method.equals("DELETE") && path.length == 3) {
+            alive.remove(path[2]);
+            body = "{\"value\":null}";
+        } else if (path[path.length - 1].equals("title")) {
+            body = "{\"value\":\"Fake " + path[2] + "\"}";
+        } else {
+            body = "{\"value\":null}";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
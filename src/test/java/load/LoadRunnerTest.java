@@ -0,0 +1,174 @@
+package load;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Планировщик нагрузки на поддельных браузерах и поддельных часах: конец нагрузки наступает,
+// когда его «дошагали» сценарии, поэтому проверки не зависят от скорости машины
+public class LoadRunnerTest {
+    private final AtomicInteger launched = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final Set<WebDriver> busy = ConcurrentHashMap.newKeySet();
+    private final List<Long> starts = Collections.synchronizedList(new ArrayList<>());
+    // Поддельные часы LoadRunner: идут только тогда, когда их двигает сценарий
+    private final AtomicLong clockNanos = new AtomicLong();
+
+    @Before
+    public void setUp() {
+        // Снимок согласия с куки поддельному браузеру не нужен
+        System.setProperty("session.state", "false");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("session.state");
+    }
+
+    @Test
+    public void usersStartSpreadOverRampUp() throws InterruptedException {
+        List<Long> delays = new ArrayList<>();
+        for (int user = 0; user < 4; user++) {
+            delays.add(LoadRunner.startDelayMillis(Duration.ofMillis(400), user, 4));
+        }
+        Assert.assertEquals("Пользователи должны стартовать равномерно на отрезке разгона",
+                Arrays.asList(0L, 100L, 200L, 300L), delays);
+
+        // Пауза длиннее прогона: каждый пользователь успевает ровно один заказ
+        LoadRunner runner = runner(4, 4, Duration.ofMillis(400), Duration.ofSeconds(10), Duration.ofMillis(600), 10);
+
+        LoadReport report = runner.run();
+
+        Assert.assertEquals("Каждый пользователь должен сделать один заказ", 4, report.getCompleted());
+    }
+
+    @Test
+    public void noJourneyStartsAfterDeadline() throws InterruptedException {
+        // Один пользователь без пауз, заказ двигает часы на 30 мс: заказы начинаются в 0, 30, ..., 390
+        LoadRunner runner = runner(1, 1, Duration.ZERO, Duration.ZERO, Duration.ofMillis(400), 30);
+
+        LoadReport report = runner.run();
+
+        Assert.assertEquals("Поддельный сценарий не падает", 0, report.getFailed());
+        Assert.assertEquals("Заказы должны идти до конца нагрузки: " + sortedStarts(), 14, report.getCompleted());
+        Assert.assertTrue("Заказ начался после конца нагрузки: " + sortedStarts(),
+                sortedStarts().get(starts.size() - 1) < 400);
+    }
+
+    @Test
+    public void borrowNeverBlocksAndBrowsersAreShared() throws InterruptedException {
+        LoadRunner runner = runner(8, 2, Duration.ZERO, Duration.ofMillis(5), Duration.ofMillis(500), 25);
+
+        LoadReport report = runner.run();
+
+        Assert.assertEquals("Браузеров запускается не больше load.browsers", 2, launched.get());
+        Assert.assertEquals("Одновременно идёт не больше сценариев, чем браузеров", 2, maxRunning.get());
+        // До конца нагрузки часы сдвигаются только заказами: их не меньше 500 / 25
+        Assert.assertTrue("Пользователей больше, чем браузеров: очередь должна разбираться", report.getCompleted() >= 20);
+        Assert.assertEquals("Один браузер не должен достаться двум сценариям сразу", 0, report.getFailed());
+    }
+
+    @Test
+    public void failedAssertionIsCountedAsFailedJourney() throws InterruptedException {
+        LoadRunner runner = runner(2, 1, Duration.ZERO, Duration.ofSeconds(10), Duration.ofMillis(500), driver -> {
+            throw new AssertionError("Заказ не оформлен");
+        });
+
+        LoadReport report = runner.run();
+
+        Assert.assertEquals("Упавшая проверка сценария — это неудачный заказ", 2, report.getFailed());
+        Assert.assertEquals(0, report.getCompleted());
+    }
+
+    // Без ухода пользователя в finally run() ждал бы его до таймаута, а без возврата браузера второй
+    // пользователь навсегда застрял бы в пуле
+    @Test(timeout = 30_000)
+    public void errorInJourneyStillReleasesBrowserAndUser() throws InterruptedException {
+        LoadRunner runner = runner(2, 1, Duration.ZERO, Duration.ofSeconds(10), Duration.ofMillis(500), driver -> {
+            throw new Error("Journey crashed");
+        });
+
+        runner.run();
+
+        Assert.assertEquals("Оба пользователя должны получить единственный браузер", 2, starts.size());
+        Assert.assertEquals(1, launched.get());
+    }
+
+    private LoadRunner runner(int users, int browsers, Duration rampUp, Duration thinkTime, Duration duration,
+                              long journeyMillis) {
+        return runner(users, browsers, rampUp, thinkTime, duration, driver -> {
+            try {
+                Thread.sleep(journeyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            clockNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(journeyMillis));
+        });
+    }
+
+    // Сценарий записывает, когда (по поддельным часам) и где он шёл, и выполняет step
+    private LoadRunner runner(int users, int browsers, Duration rampUp, Duration thinkTime, Duration duration,
+                              Consumer<WebDriver> step) {
+        return new LoadRunner(this::fakeBrowser, (driver, order) -> {
+            starts.add(TimeUnit.NANOSECONDS.toMillis(clockNanos.get()));
+            if (!busy.add(driver)) {
+                throw new IllegalStateException("Browser is already in use");
+            }
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                step.accept(driver);
+            } finally {
+                running.decrementAndGet();
+                busy.remove(driver);
+            }
+        }, clockNanos::get, users, browsers, rampUp, thinkTime, duration);
+    }
+
+    private List<Long> sortedStarts() {
+        List<Long> sorted;
+        synchronized (starts) {
+            sorted = new ArrayList<>(starts);
+        }
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    // Браузер, который соглашается на любую команду: пул чистит его между сценариями
+    private WebDriver fakeBrowser() {
+        launched.incrementAndGet();
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "manage":
+                            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                    new Class<?>[]{WebDriver.Options.class}, (options, call, callArgs) -> null);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "FakeBrowser@" + Integer.toHexString(System.identityHashCode(proxy));
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
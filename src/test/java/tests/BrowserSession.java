@@ -0,0 +1,90 @@
+package tests;
+
+import artifacts.FailureArtifacts;
+import driver.DriverPool;
+import metrics.Metrics;
+import network.NetworkProfile;
+import org.junit.rules.ExternalResource;
+import org.junit.rules.RuleChain;
+import org.junit.rules.TestRule;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.openqa.selenium.WebDriver;
+
+// Браузер на время теста для всех браузерных классов: сессия из пула, а вокруг неё замеры задержек,
+// учёт трафика и артефакты падения. Порядок важен: снимок страницы снимается до возврата браузера в пул
+class BrowserSession implements TestRule {
+    private WebDriver driver;
+
+    // Замеры задержек складываются по имени теста и выгружаются в конце прогона
+    private final TestWatcher metricsWatcher = new TestWatcher() {
+        @Override
+        protected void starting(Description description) {
+            Metrics.startTest(description.getDisplayName());
+        }
+
+        @Override
+        protected void finished(Description description) {
+            Metrics.finishTest();
+        }
+    };
+
+    // Берём уже запущенный браузер из пула вместо старта нового и возвращаем его после теста:
+    // пул сам почистит сессию или закроет, если она сломана
+    private final ExternalResource pooledDriver = new ExternalResource() {
+        @Override
+        protected void before() {
+            driver = DriverPool.shared().borrow();
+        }
+
+        @Override
+        protected void after() {
+            DriverPool.shared().release(driver);
+            driver = null;
+        }
+    };
+
+    // Учёт трафика по тесту в быстром профиле или при network.report
+    private final TestWatcher networkReport = new TestWatcher() {
+        @Override
+        protected void starting(Description description) {
+            NetworkProfile.beginTest(driver);
+        }
+
+        @Override
+        protected void finished(Description description) {
+            NetworkProfile.endTest(driver, description.getDisplayName());
+        }
+    };
+
+    // При падении снимаем страницу до возврата браузера в пул, запись идёт в фоне
+    private final TestWatcher failureArtifacts = new TestWatcher() {
+        @Override
+        protected void starting(Description description) {
+            FailureArtifacts.startTest(description.getDisplayName());
+        }
+
+        @Override
+        protected void failed(Throwable e, Description description) {
+            FailureArtifacts.failure(driver, "failure", e);
+        }
+
+        @Override
+        protected void finished(Description description) {
+            FailureArtifacts.finishTest();
+        }
+    };
+
+    private final RuleChain chain = RuleChain.outerRule(metricsWatcher).around(pooledDriver)
+            .around(networkReport).around(failureArtifacts);
+
+    WebDriver driver() {
+        return driver;
+    }
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        return chain.apply(base, description);
+    }
+}
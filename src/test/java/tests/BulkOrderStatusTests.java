@@ -0,0 +1,59 @@
+package tests;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import pages.OrderStatusCheck;
+import pages.StatusPage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Пакетная проверка статуса: заказы всех строк данных и один несуществующий номер идут
+// одним вызовом checkOrders в одной сессии браузера, без главной страницы между номерами
+public class BulkOrderStatusTests {
+    private static final String UNKNOWN_ORDER = "000000";
+
+    private StatusPage statusPage;
+
+    @Rule
+    public BrowserSession session = new BrowserSession();
+
+    // Без своего сайта класс пропускается целиком, не занимая браузер из пула
+    @BeforeClass
+    public static void requireOwnSite() {
+        SeededOrders.assumeOwnSite();
+    }
+
+    @AfterClass
+    public static void cancelSeededOrders() {
+        SeededOrders.cancelAll();
+    }
+
+    @Before
+    public void setUp() {
+        statusPage = new StatusPage(session.driver());
+    }
+
+    @Test
+    public void testBulkOrderStatus() {
+        List<Integer> tracks = SeededOrders.tracks(MainTests.rows());
+        List<String> numbers = new ArrayList<>();
+        tracks.forEach(track -> numbers.add(String.valueOf(track)));
+        numbers.add(UNKNOWN_ORDER);
+
+        List<OrderStatusCheck> checks = statusPage.checkOrders(numbers);
+
+        Assert.assertEquals("Результат нужен по каждому номеру", numbers.size(), checks.size());
+        for (int i = 0; i < tracks.size(); i++) {
+            Assert.assertEquals("Заказ " + tracks.get(i) + " должен находиться: " + checks.get(i),
+                    OrderStatusCheck.Outcome.FOUND, checks.get(i).getOutcome());
+        }
+        OrderStatusCheck unknown = checks.get(tracks.size());
+        Assert.assertEquals("Несуществующий заказ не должен находиться: " + unknown,
+                OrderStatusCheck.Outcome.NOT_FOUND, unknown.getOutcome());
+    }
+}
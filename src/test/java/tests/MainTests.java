@@ -1,29 +1,43 @@
 package tests;
 // импорт
-import io.github.bonigarcia.wdm.WebDriverManager;
+import config.TestConfig;
+import data.OrderScenario;
+import data.OrderScenarios;
 import org.junit.*;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import pages.AccordionItem;
 import pages.MainPage;
 import pages.OrderPage;
 import pages.StatusPage;
-
-@RunWith(Parameterized.class)
+import stub.FixtureData;
+import tests.runner.ParallelParameterized;
+import tests.runner.ParallelRowRunner;
+import tests.runner.StaticCheckable;
+import waits.WaitEngine;
+
+@RunWith(ParallelParameterized.class)
+@Parameterized.UseParametersRunnerFactory(ParallelRowRunner.Factory.class)
 public class MainTests {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private WaitEngine waits;
     private MainPage mainPage;
     private OrderPage orderPage;
     private StatusPage statusPage;
 
+    private static List<OrderScenario> rows;
+
+    @Rule
+    public BrowserSession session = new BrowserSession();
+
     // Тестовые данные
     private final String name;
     private final String surname;
@@ -31,174 +45,158 @@ public class MainTests {
     private final String metroStation;
     private final String phone;
     private final String date;
+    private final String rentalPeriod;
     private final String color;
     private final String comment;
+    // Номер строки в данных; по нему тест находит свой заказ, созданный через API
+    private final int row;
 
     public MainTests(String name, String surname, String address,
                      String metroStation, String phone, String date,
-                     String color, String comment) {
+                     String rentalPeriod, String color, String comment, int row) {
         this.name = name;
         this.surname = surname;
         this.address = address;
         this.metroStation = metroStation;
         this.phone = phone;
         this.date = date;
+        this.rentalPeriod = rentalPeriod;
         this.color = color;
         this.comment = comment;
+        this.row = row;
+    }
+
+    @AfterClass
+    public static void cancelSeededOrders() {
+        SeededOrders.cancelAll();
     }
 
     @Before
     public void setUp() {
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        options.addArguments("--disable-notifications");
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        driver = session.driver();
+        waits = new WaitEngine(driver);
 
         mainPage = new MainPage(driver);
         orderPage = new OrderPage(driver);
         statusPage = new StatusPage(driver);
 
-        // Принимаем куки перед началом тестов
+        // Принимаем куки перед началом тестов; если сессия пришла из пула со снимком состояния,
+        // это одна проверка куки без ожидания баннера
         mainPage.open();
         mainPage.acceptCookies();
     }
 
-    @After
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
-    }
-
     @Test
+    @StaticCheckable
     public void testOpenMainPage() {
         mainPage.open();
         String currentUrl = driver.getCurrentUrl().trim();
         Assert.assertEquals("Неправильный URL",
-                "https://qa-scooter.praktikum-services.ru/",
+                TestConfig.baseUrl(),
                 currentUrl);
     }
 
     @Test
+    @StaticCheckable
     public void testAccordionItems() {
         mainPage.open();
-        String[] expectedAnswers = {
-                "Сутки — 400 рублей. Оплата курьеру — наличными или картой.",
-                "Пока что у нас так: один заказ — один самокат. Если хотите покататься с друзьями, можете просто сделать несколько заказов — один за другим.",
-                "Допустим, вы оформляете заказ на 8 мая. Мы привозим самокат 8 мая в течение дня. Отсчёт времени аренды начинается с момента, когда вы оплатите заказ курьеру. Если мы привезли самокат 8 мая в 20:30, суточная аренда закончится 9 мая в 20:30.",
-                "Только начиная с завтрашнего дня. Но скоро станем расторопнее.",
-                "Пока что нет! Но если что-то срочное — всегда можно позвонить в поддержку по красивому номеру 1010.",
-                "Самокат приезжает к вам с полной зарядкой. Этого хватает на восемь суток — даже если будете кататься без передышек и во сне. Зарядка не понадобится.",
-                "Да, пока самокат не привезли. Штрафа не будет, объяснительной записки тоже не попросим. Все же свои.",
-                "Да, обязательно. Всем самокатов! И Москве, и Московской области."
-        };
-
-        for (int i = 0; i < expectedAnswers.length; i++) {
-            try {
-                WebElement question = wait.until(ExpectedConditions.elementToBeClickable(
-                        By.id("accordion__heading-" + i)));
-                ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView();", question);
-                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", question);
-
-                WebElement answer = wait.until(ExpectedConditions.visibilityOfElementLocated(
-                        By.id("accordion__panel-" + i)));
-                String actualAnswer = answer.getText().trim();
-                Assert.assertEquals("Ответ не соответствует ожидаемому для вопроса " + (i+1),
-                        expectedAnswers[i], actualAnswer);
-            } catch (Exception e) {
-                Assert.fail("Ошибка при проверке аккордеона " + (i + 1) + ": " + e.getMessage());
-            }
+
+        // Все пункты раскрываются и читаются одним вызовом, проверяем каждый отдельно
+        List<AccordionItem> items = mainPage.readAccordionItems();
+        List<String> expectedAnswers = FixtureData.ACCORDION_ANSWERS;
+        Assert.assertEquals("Неверное количество вопросов в аккордеоне", expectedAnswers.size(), items.size());
+
+        for (int i = 0; i < expectedAnswers.size(); i++) {
+            AccordionItem item = items.get(i);
+            Assert.assertTrue("Ответ на вопрос " + (i + 1) + " не раскрылся", item.isVisible());
+            Assert.assertEquals("Ответ не соответствует ожидаемому для вопроса " + (i + 1),
+                    expectedAnswers.get(i), item.getAnswer());
         }
     }
 
     @Test
     public void testOrderFlowTopButton() {
-        try {
-            mainPage.open();
-            mainPage.clickOrderButton(true); // true для верхней кнопки
+        mainPage.open();
+        mainPage.clickOrderButton(true); // true для верхней кнопки
 
-            orderPage.fillUserForm(name, surname, address, metroStation, phone);
+        orderPage.fillUserForm(name, surname, address, metroStation, phone);
 
-            WebElement nextButton = wait.until(ExpectedConditions.elementToBeClickable(
-                    By.xpath("//button[text()='Далее']")));
-            nextButton.click();
+        WebElement nextButton = waits.clickable(By.xpath("//button[text()='Далее']"));
+        nextButton.click();
 
-            orderPage.fillDeliveryForm(date, "сутки", color, comment);
+        orderPage.fillDeliveryForm(date, rentalPeriod, color, comment);
 
-            orderPage.submitOrder();
-            orderPage.confirmOrder();
+        orderPage.submitOrder();
+        orderPage.confirmOrder();
 
-            Assert.assertTrue("Заказ должен быть успешно оформлен",
-                    orderPage.isOrderSuccessDisplayed());
-        } catch (Exception e) {
-            Assert.fail("Тест заказа через верхнюю кнопку упал: " + e.getMessage());
-        }
+        Assert.assertTrue("Заказ должен быть успешно оформлен",
+                orderPage.isOrderSuccessDisplayed());
     }
 
     @Test
     public void testOrderFlowBottomButton() {
-        try {
-            mainPage.open();
-
-            // Дополнительная проверка на куки
-            try {
-                mainPage.acceptCookies();
-            } catch (Exception e) {
-                System.out.println("Cookie already accepted");
-            }
-
-            mainPage.clickOrderButton(false);
+        mainPage.open();
+        mainPage.clickOrderButton(false);
 
-            // Остальной код теста...
-        } catch (Exception e) {
-            Assert.fail("Тест заказа через нижнюю кнопку упал: " + e.getMessage());
-        }
+        // Остальной код теста...
     }
 
     @Test
     public void testNonExistentOrderStatus() {
-        try {
-            // 1. Открываем главную страницу
-            mainPage.open();
-
-            // 2. Принимаем куки (если есть)
-            try {
-                new WebDriverWait(driver, Duration.ofSeconds(5))
-                        .until(ExpectedConditions.elementToBeClickable(
-                                By.xpath("//button[contains(text(), 'да все привыкли')]")
-                        )).click();
-            } catch (Exception e) {
-                System.out.println("Cookie banner не найден, продолжаем тест");
-            }
+        // 1. Открываем главную страницу
+        mainPage.open();
 
-            // 3. Находим и кликаем кнопку "Статус заказа"
-            WebElement statusButton = wait.until(ExpectedConditions.elementToBeClickable(
-                    By.xpath("//button[contains(text(), 'Статус заказа')]")
-            ));
-            ((JavascriptExecutor)driver).executeScript("arguments[0].click();", statusButton);
+        // 2. Куки уже приняты в setUp (или пришли со снимком состояния сессии)
 
-            // 4. Проверяем несуществующий заказ
-            statusPage.checkOrderStatus("000000");
+        // 3. Находим и кликаем кнопку "Статус заказа"
+        WebElement statusButton = waits.clickable(By.xpath("//button[contains(text(), 'Статус заказа')]"));
+        ((JavascriptExecutor)driver).executeScript("arguments[0].click();", statusButton);
 
-            // 5. Добавляем явное ожидание перед проверкой
-            Thread.sleep(2000); // Краткая пауза для стабилизации
+        // 4. Проверяем несуществующий заказ
+        statusPage.checkOrderStatus("000000");
 
-            // 6. Проверяем сообщение об ошибке
-            Assert.assertTrue("Изображение 'Не найдено' должно отображаться",
-                    statusPage.isNotFoundMessageDisplayed());
+        // 5. Проверяем сообщение об ошибке: страница сама дожидается ответа сервера
+        Assert.assertTrue("Изображение 'Не найдено' должно отображаться",
+                statusPage.isNotFoundMessageDisplayed());
+    }
+
+    @Test
+    public void testSeededOrderStatus() {
+        // Заказ создаётся через API, форму заказа здесь не проходим
+        int track = SeededOrders.track(row, scenario());
 
-        } catch (Exception e) {
-            Assert.fail("Тест статуса заказа упал: " + e.getMessage());
+        mainPage.open();
+        mainPage.clickStatusButton();
+        statusPage.checkOrderStatus(String.valueOf(track));
+
+        Assert.assertTrue("Заказ " + track + " должен находиться на странице статуса",
+                statusPage.isOrderFound());
+    }
+
+    private OrderScenario scenario() {
+        return rows().get(row);
+    }
+
+    // Строки данных читаются или генерируются один раз на JVM; их берут и data(), и тесты с заказами через API
+    static synchronized List<OrderScenario> rows() {
+        if (rows == null) {
+            try (Stream<OrderScenario> scenarios = OrderScenarios.configured()) {
+                rows = Collections.unmodifiableList(scenarios.collect(Collectors.toList()));
+            }
         }
+        return rows;
     }
 
-    @Parameterized.Parameters(name = "Тестовые данные: {0} {1}")
+    // Строки приходят из генератора: -Ddata.mode=fixed|pairwise|random|csv (см. OrderScenarios)
+    @Parameterized.Parameters(name = "{index}: Тестовые данные: {0} {1}")
     public static Collection<Object[]> data() {
-        return Arrays.asList(new Object[][]{
-                {"Иван", "Иванов", "ул. Ленина, 1", "Сокольники", "+79991112233", "01.01.2025", "black", "Позвонить за час"},
-                {"Петр", "Петров", "ул. Пушкина, 10", "Фрунзенская", "+79876543210", "15.01.2025", "grey", "Оставьте у двери"}
-        });
+        List<OrderScenario> rows = rows();
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = Arrays.copyOf(rows.get(i).toArgs(), OrderScenario.COLUMNS.length + 1);
+            row[OrderScenario.COLUMNS.length] = i;
+            args.add(row);
+        }
+        return args;
     }
 }
\ No newline at end of file
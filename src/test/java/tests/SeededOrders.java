@@ -0,0 +1,141 @@
+package tests;
+
+import api.OrderApiClient;
+import api.SeedReport;
+import config.TestConfig;
+import data.OrderScenario;
+import org.junit.Assume;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Заказы для проверок страницы статуса: создаются через API только тогда, когда тест спрашивает номер,
+// и только для его строки данных. Номер строки -> заказ в работе или готовый; отменяются в @AfterClass.
+// HTTP-запрос идёт вне карты: строку занимает незавершённый future, остальные ждут его, а не блокировку карты
+final class SeededOrders {
+    private static final Map<Integer, CompletableFuture<Integer>> TRACKS = new ConcurrentHashMap<>();
+    private static OrderApiClient api;
+
+    private SeededOrders() {
+    }
+
+    static synchronized OrderApiClient api() {
+        if (api == null) {
+            api = new OrderApiClient();
+        }
+        return api;
+    }
+
+    // Номер заказа строки row; при первом вызове заказ создаётся. Ошибка данных или API валит только этот тест
+    static int track(int row, OrderScenario scenario) {
+        assumeOwnSite();
+        CompletableFuture<Integer> created = new CompletableFuture<>();
+        CompletableFuture<Integer> existing = TRACKS.putIfAbsent(row, created);
+        if (existing == null) {
+            try {
+                created.complete(api().createOrder(scenario.toOrderPayload()));
+            } catch (RuntimeException e) {
+                fail(row, created, e);
+            }
+            existing = created;
+        }
+        return join(row, existing);
+    }
+
+    // Номера заказов всех строк по порядку; недостающие создаются одной пачкой с параллелизмом seed.concurrency.
+    // Если хоть одна строка без заказа, падает вызвавший тест со сводкой по строкам
+    static List<Integer> tracks(List<OrderScenario> rows) {
+        assumeOwnSite();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(rows.size());
+        List<Integer> owned = new ArrayList<>();
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (int row = 0; row < rows.size(); row++) {
+            CompletableFuture<Integer> created = new CompletableFuture<>();
+            CompletableFuture<Integer> existing = TRACKS.putIfAbsent(row, created);
+            futures.add(existing == null ? created : existing);
+            if (existing != null) {
+                continue;
+            }
+            try {
+                payloads.add(rows.get(row).toOrderPayload());
+                owned.add(row);
+            } catch (RuntimeException e) {
+                fail(row, created, e);
+            }
+        }
+        if (!payloads.isEmpty()) {
+            SeedReport report;
+            try {
+                report = api().seedOrders(payloads, TestConfig.seedConcurrency());
+            } catch (RuntimeException e) {
+                owned.forEach(row -> fail(row, futures.get(row), e));
+                throw e;
+            }
+            System.out.println("Seeded orders for status checks: " + report);
+            for (int i = 0; i < owned.size(); i++) {
+                int row = owned.get(i);
+                Integer track = report.getTracks().get(i);
+                if (track != null) {
+                    futures.get(row).complete(track);
+                } else {
+                    fail(row, futures.get(row), new IllegalStateException(report.getErrors().get(i)));
+                }
+            }
+        }
+
+        List<Integer> tracks = new ArrayList<>(rows.size());
+        List<String> errors = new ArrayList<>();
+        for (int row = 0; row < rows.size(); row++) {
+            try {
+                tracks.add(join(row, futures.get(row)));
+            } catch (AssertionError e) {
+                errors.add("строка " + row + ": " + e.getCause().getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new AssertionError("Заказы не созданы через API для " + errors.size() + " из " + rows.size()
+                    + " строк: " + String.join("; ", errors));
+        }
+        return tracks;
+    }
+
+    static void cancelAll() {
+        List<Integer> tracks = new ArrayList<>();
+        for (CompletableFuture<Integer> future : TRACKS.values()) {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                tracks.add(future.join());
+            }
+        }
+        TRACKS.clear();
+        if (tracks.isEmpty()) {
+            return;
+        }
+        int cancelled = api().cancelOrders(tracks);
+        System.out.println("Cancelled " + cancelled + " of " + tracks.size() + " seeded orders");
+    }
+
+    // Настоящие заказы создаются только на явно заданном сайте: по умолчанию это общий публичный стенд
+    static void assumeOwnSite() {
+        Assume.assumeTrue("Заказы через API создаются только с -Dscooter.stub=true или -Dscooter.baseUrl",
+                TestConfig.baseUrlConfigured());
+    }
+
+    // Неудача не запоминается: следующий тест этой строки попробует создать заказ снова
+    private static void fail(int row, CompletableFuture<Integer> created, RuntimeException e) {
+        TRACKS.remove(row, created);
+        created.completeExceptionally(e);
+    }
+
+    private static int join(int row, CompletableFuture<Integer> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() == null ? e : e.getCause();
+            throw new AssertionError("Заказ для строки " + row + " не создан через API: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package tests;
+
+import config.TestConfig;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import pages.MainPage;
+import pages.StaticPage;
+import stub.FixtureData;
+import stub.ScooterStubServer;
+
+import java.util.List;
+import java.util.Map;
+
+// Проверки статического содержимого главной страницы без браузера: HTML скачивается один раз
+// и разбирается теми же локаторами, что и у MainPage. Браузерные версии этих проверок помечены @StaticCheckable
+public class StaticContentTests {
+    private static String baseUrl;
+    private static StaticPage mainPage;
+
+    // Без явно заданного сайта проверяется локальная копия: статический уровень не ходит в сеть по умолчанию
+    @BeforeClass
+    public static void fetchMainPage() {
+        baseUrl = TestConfig.baseUrlConfigured() ? TestConfig.baseUrl() : ScooterStubServer.shared().baseUrl();
+        mainPage = StaticPage.fetch(baseUrl);
+    }
+
+    @Test
+    public void testOpenMainPage() {
+        Assert.assertEquals("Главная страница должна открываться", 200, mainPage.getStatus());
+        Assert.assertEquals("Неправильный URL", baseUrl, mainPage.getUrl());
+    }
+
+    @Test
+    public void testMainPageElements() {
+        Assume.assumeTrue("Разметку строит скрипт, элементы проверяются только в браузере",
+                mainPage.isServerRendered());
+        for (Map.Entry<String, By> element : MainPage.getStaticLocators().entrySet()) {
+            Assert.assertTrue("На главной странице нет элемента: " + element.getKey(),
+                    mainPage.isPresent(element.getValue()));
+        }
+    }
+
+    @Test
+    public void testAccordionItems() {
+        List<String> expectedAnswers = FixtureData.ACCORDION_ANSWERS;
+        if (!mainPage.isServerRendered()) {
+            // Страница собирается скриптом: тексты ответов ищем в JS-бандле
+            for (int i = 0; i < expectedAnswers.size(); i++) {
+                Assert.assertTrue("Нет ответа на вопрос " + (i + 1), mainPage.containsText(expectedAnswers.get(i)));
+            }
+            return;
+        }
+        for (int i = 0; i < expectedAnswers.size(); i++) {
+            Assert.assertTrue("Нет вопроса " + (i + 1) + " в аккордеоне",
+                    mainPage.isPresent(MainPage.getAccordionQuestion(i)));
+            Assert.assertEquals("Ответ не соответствует ожидаемому для вопроса " + (i + 1),
+                    expectedAnswers.get(i), mainPage.findElement(MainPage.getAccordionAnswer(i)).text());
+        }
+        Assert.assertFalse("Лишний вопрос в аккордеоне",
+                mainPage.isPresent(MainPage.getAccordionQuestion(expectedAnswers.size())));
+    }
+}
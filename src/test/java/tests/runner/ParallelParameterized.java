@@ -0,0 +1,147 @@
+package tests.runner;
+
+import config.TestConfig;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.Parameterized;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.Statement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Parameterized с шардированием (test.shard.index/test.shard.total) и параллельным запуском (test.workers).
+// Для параллельного режима тестовый класс должен использовать ParallelRowRunner.Factory.
+// С историей длительностей (test.timing, по умолчанию выключено) тесты запускаются в порядке: упавшие в прошлый раз,
+// затем самые долгие. Результаты в любом режиме отдаются в порядке объявления.
+// @BeforeParam/@AfterParam в параллельном режиме и при упорядочивании по истории не вызываются.
+// При test.static=true тесты с @StaticCheckable пропускаются: их содержимое проверяет StaticContentTests.
+public class ParallelParameterized extends Parameterized {
+
+    public ParallelParameterized(Class<?> klass) throws Throwable {
+        super(klass);
+        if (TestConfig.staticTier()) {
+            try {
+                filter(new StaticCheckableFilter());
+            } catch (NoTestsRemainException e) {
+                System.out.println("All tests of " + klass.getSimpleName() + " are covered by static checks");
+            }
+        }
+        if (TestConfig.shardTotal() > 1) {
+            try {
+                filter(new ShardFilter(TestConfig.shardIndex(), TestConfig.shardTotal()));
+            } catch (NoTestsRemainException e) {
+                System.out.println("No tests in shard " + TestConfig.shardIndex() + " of " + TestConfig.shardTotal());
+            }
+        }
+    }
+
+    @Override
+    protected Statement childrenInvoker(RunNotifier notifier) {
+        List<TestUnit> units = collectUnits();
+        if (units == null || (TestConfig.workers() <= 1 && !TestConfig.testTiming())) {
+            return super.childrenInvoker(notifier);
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                if (!TestConfig.testTiming()) {
+                    runInParallel(units, units, notifier, TestConfig.workers(), null);
+                    return;
+                }
+                TimingStore timings = TimingStore.open(TestConfig.testTimingFile());
+                try {
+                    runInParallel(units, schedule(units, timings), notifier, TestConfig.workers(), timings);
+                } finally {
+                    timings.flush();
+                }
+            }
+        };
+    }
+
+    // Все пары «строка параметров × метод» в стабильном порядке; null, если фабрика строк не та
+    private List<TestUnit> collectUnits() {
+        List<Description> remainingRows = getDescription().getChildren();
+        List<TestUnit> units = new ArrayList<>();
+        for (Runner child : getChildren()) {
+            if (!(child instanceof ParallelRowRunner)) {
+                return null;
+            }
+            if (!remainingRows.contains(child.getDescription())) {
+                continue;
+            }
+            ParallelRowRunner row = (ParallelRowRunner) child;
+            for (FrameworkMethod method : row.remainingMethods()) {
+                units.add(new TestUnit(row, method, row.describe(method)));
+            }
+        }
+        return units;
+    }
+
+    // Сначала упавшие в прошлый раз — чтобы узнать о них сразу, затем от долгих к коротким: общая очередь
+    // раздаёт длинные тесты первыми, и к концу прогона потоки добирают короткие, не простаивая.
+    // Сортировка устойчивая, поэтому без истории порядок остаётся исходным
+    private List<TestUnit> schedule(List<TestUnit> units, TimingStore timings) {
+        List<TestUnit> ordered = new ArrayList<>(units);
+        ordered.sort(Comparator.comparing((TestUnit unit) -> !timings.failedLastTime(unit.description))
+                .thenComparing(Comparator.comparingLong((TestUnit unit) -> timings.estimateMillis(unit.description)).reversed()));
+        long failed = ordered.stream().filter(unit -> timings.failedLastTime(unit.description)).count();
+        System.out.println("Scheduling " + ordered.size() + " tests by history of " + timings.size()
+                + ": " + failed + " failed last run first, then longest first");
+        return ordered;
+    }
+
+    // Запуск идёт в порядке schedule, а результаты отдаются в порядке units — как объявлены тесты
+    private void runInParallel(List<TestUnit> units, List<TestUnit> schedule, RunNotifier notifier, int workers,
+                               TimingStore timings) throws InterruptedException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers,
+                r -> new Thread(r, "test-worker-" + threadNumber.incrementAndGet()));
+        try {
+            Map<TestUnit, Future<RecordingNotifier>> results = new IdentityHashMap<>();
+            for (TestUnit unit : schedule) {
+                results.put(unit, executor.submit(() -> {
+                    RecordingNotifier recorder = new RecordingNotifier();
+                    long start = System.nanoTime();
+                    unit.row.runMethod(unit.method, recorder);
+                    if (timings != null && recorder.started()) {
+                        timings.record(unit.description, (System.nanoTime() - start) / 1_000_000, recorder.failed());
+                    }
+                    return recorder;
+                }));
+            }
+            // Отдаём результаты строго в порядке объявления, как бы ни завершались потоки и ни шла очередь
+            for (TestUnit unit : units) {
+                try {
+                    results.get(unit).get().replayTo(notifier);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Test worker crashed", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class TestUnit {
+        final ParallelRowRunner row;
+        final FrameworkMethod method;
+        final Description description;
+
+        TestUnit(ParallelRowRunner row, FrameworkMethod method, Description description) {
+            this.row = row;
+            this.method = method;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package tests.runner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ParallelParameterizedTest {
+
+    @Before
+    public void setUp() {
+        // Порядок по истории проверяется отдельно, остальные тесты идут в исходном порядке
+        System.setProperty("test.timing", "false");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty("test.timing");
+        System.clearProperty("test.timing.file");
+        System.clearProperty("test.workers");
+        System.clearProperty("test.shard.index");
+        System.clearProperty("test.shard.total");
+    }
+
+    @Test
+    public void parallelRunReportsInDeclarationOrder() {
+        List<String> sequential = run();
+        System.setProperty("test.workers", "4");
+        SampleTest.threads.clear();
+        List<String> parallel = run();
+
+        Assert.assertEquals("Порядок результатов должен совпадать с последовательным прогоном", sequential, parallel);
+        Assert.assertTrue("Тесты должны выполняться в нескольких потоках", SampleTest.threads.size() > 1);
+    }
+
+    @Test
+    public void shardsSplitTestsWithoutOverlap() {
+        List<String> all = run();
+        List<String> merged = new ArrayList<>();
+        System.setProperty("test.shard.total", "3");
+        for (int shard = 0; shard < 3; shard++) {
+            System.setProperty("test.shard.index", String.valueOf(shard));
+            merged.addAll(run());
+        }
+        Collections.sort(all);
+        Collections.sort(merged);
+        Assert.assertEquals("Каждый тест должен попасть ровно в один шард", all, merged);
+    }
+
+    @Test
+    public void historyRunsFailedThenLongestFirst() throws IOException {
+        Path file = Files.createTempFile("test-timings", ".json");
+        Files.writeString(file, "{\"tests\": {"
+                + "\"first[delay 5](" + SampleTest.class.getName() + ")\": {\"ms\": 100, \"runs\": 1, \"failed\": true, \"updated\": 0},"
+                + "\"first[delay 10](" + SampleTest.class.getName() + ")\": {\"ms\": 300, \"runs\": 1, \"failed\": false, \"updated\": 0},"
+                + "\"second[delay 40](" + SampleTest.class.getName() + ")\": {\"ms\": 500, \"runs\": 1, \"failed\": false, \"updated\": 0}}}");
+        System.setProperty("test.timing", "true");
+        System.setProperty("test.timing.file", file.toString());
+
+        SampleTest.started.clear();
+        List<String> reported = run();
+        List<String> order = new ArrayList<>(SampleTest.started);
+
+        // Упавший тест первым; у новых строк оценка — среднее по тому же методу (second 500, first 200)
+        Assert.assertEquals("Тесты должны запускаться по истории: упавшие, затем от долгих к коротким",
+                Arrays.asList("first[delay 5]", "second[delay 40]", "second[delay 5]", "second[delay 25]",
+                        "second[delay 10]", "first[delay 10]", "first[delay 40]", "first[delay 25]"),
+                order);
+        System.clearProperty("test.timing");
+        Assert.assertEquals("Результаты должны отдаваться в порядке объявления, а не запуска", run(), reported);
+        Assert.assertFalse("После успешного прогона тест не должен числиться упавшим",
+                TimingStore.open(file).failedLastTime(sampleTest("first[delay 5]")));
+        Assert.assertEquals("Все тесты должны попасть в историю", 8, TimingStore.open(file).size());
+    }
+
+    @Test
+    public void timingStoreMergesConcurrentWriters() throws IOException {
+        Path file = Files.createTempFile("test-timings", ".json");
+        TimingStore first = TimingStore.open(file);
+        TimingStore second = TimingStore.open(file);
+        first.record(sampleTest("first[delay 5]"), 10, false);
+        second.record(sampleTest("second[delay 5]"), 20, true);
+        second.flush();
+        first.flush();
+
+        TimingStore merged = TimingStore.open(file);
+        Assert.assertEquals("Запись одного процесса не должна затирать запись другого", 2, merged.size());
+        Assert.assertEquals(10, merged.estimateMillis(sampleTest("first[delay 5]")));
+        Assert.assertTrue(merged.failedLastTime(sampleTest("second[delay 5]")));
+    }
+
+    @Test
+    public void timingStoreDropsStaleEntriesOnFlush() throws IOException {
+        Path file = Files.createTempFile("test-timings", ".json");
+        long monthAgo = System.currentTimeMillis() - Duration.ofDays(31).toMillis();
+        Files.writeString(file, "{\"tests\": {\"renamed[delay 5](tests.runner.ParallelParameterizedTest$SampleTest)\": "
+                + "{\"ms\": 5, \"runs\": 3, \"failed\": false, \"updated\": " + monthAgo + "}}}");
+        TimingStore store = TimingStore.open(file, Duration.ofDays(30));
+        Assert.assertEquals(1, store.size());
+        store.record(sampleTest("first[delay 5]"), 10, false);
+        store.flush();
+
+        TimingStore pruned = TimingStore.open(file, Duration.ofDays(30));
+        Assert.assertEquals("Запись давно не запускавшегося теста должна удаляться из истории", 1, pruned.size());
+        Assert.assertEquals(10, pruned.estimateMillis(sampleTest("first[delay 5]")));
+    }
+
+    private static Description sampleTest(String name) {
+        return Description.createTestDescription(SampleTest.class, name);
+    }
+
+    private List<String> run() {
+        List<String> finished = new ArrayList<>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) {
+                finished.add(description.getDisplayName());
+            }
+        });
+        Result result = core.run(Request.aClass(SampleTest.class));
+        Assert.assertTrue("Вспомогательные тесты не должны падать", result.wasSuccessful());
+        return finished;
+    }
+
+    @RunWith(ParallelParameterized.class)
+    @Parameterized.UseParametersRunnerFactory(ParallelRowRunner.Factory.class)
+    public static class SampleTest {
+        static final Set<String> threads = ConcurrentHashMap.newKeySet();
+        // Порядок запуска тестов: «метод[строка]»
+        static final List<String> started = Collections.synchronizedList(new ArrayList<>());
+        private final int delay;
+
+        public SampleTest(int delay) {
+            this.delay = delay;
+        }
+
+        @Parameterized.Parameters(name = "delay {0}")
+        public static Collection<Object[]> data() {
+            return Arrays.asList(new Object[][]{{40}, {5}, {25}, {10}});
+        }
+
+        @Rule
+        public TestName testName = new TestName();
+
+        @Before
+        public void recordStart() {
+            started.add(testName.getMethodName());
+        }
+
+        @Test
+        public void first() throws InterruptedException {
+            threads.add(Thread.currentThread().getName());
+            Thread.sleep(delay);
+        }
+
+        @Test
+        public void second() throws InterruptedException {
+            threads.add(Thread.currentThread().getName());
+            Thread.sleep(delay / 2);
+        }
+    }
+}
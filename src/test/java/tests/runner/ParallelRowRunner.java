@@ -0,0 +1,49 @@
+package tests.runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.parameterized.BlockJUnit4ClassRunnerWithParameters;
+import org.junit.runners.parameterized.ParametersRunnerFactory;
+import org.junit.runners.parameterized.TestWithParameters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Строка параметров, у которой можно запускать отдельные тест-методы из любого потока
+public class ParallelRowRunner extends BlockJUnit4ClassRunnerWithParameters {
+
+    public ParallelRowRunner(TestWithParameters test) throws InitializationError {
+        super(test);
+    }
+
+    // Методы, оставшиеся после фильтрации (шардирование, -Dtest=...)
+    List<FrameworkMethod> remainingMethods() {
+        List<Description> remaining = getDescription().getChildren();
+        List<FrameworkMethod> methods = new ArrayList<>();
+        for (FrameworkMethod method : getChildren()) {
+            if (remaining.contains(describeChild(method))) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    Description describe(FrameworkMethod method) {
+        return describeChild(method);
+    }
+
+    // Каждый вызов создаёт свой экземпляр тестового класса, поэтому page objects живут в одном потоке
+    void runMethod(FrameworkMethod method, RunNotifier notifier) {
+        runChild(method, notifier);
+    }
+
+    public static class Factory implements ParametersRunnerFactory {
+        @Override
+        public Runner createRunnerForTestWithParameters(TestWithParameters test) throws InitializationError {
+            return new ParallelRowRunner(test);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package tests.runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Запоминает события одного теста, чтобы потом отдать их настоящему notifier в исходном порядке
+class RecordingNotifier extends RunNotifier {
+    private final List<Consumer<RunNotifier>> events = new ArrayList<>();
+    private boolean started;
+    private boolean failed;
+
+    @Override
+    public void fireTestSuiteStarted(Description description) {
+        events.add(n -> n.fireTestSuiteStarted(description));
+    }
+
+    @Override
+    public void fireTestSuiteFinished(Description description) {
+        events.add(n -> n.fireTestSuiteFinished(description));
+    }
+
+    @Override
+    public void fireTestStarted(Description description) {
+        started = true;
+        events.add(n -> n.fireTestStarted(description));
+    }
+
+    @Override
+    public void fireTestFailure(Failure failure) {
+        failed = true;
+        events.add(n -> n.fireTestFailure(failure));
+    }
+
+    @Override
+    public void fireTestAssumptionFailed(Failure failure) {
+        events.add(n -> n.fireTestAssumptionFailed(failure));
+    }
+
+    @Override
+    public void fireTestIgnored(Description description) {
+        events.add(n -> n.fireTestIgnored(description));
+    }
+
+    @Override
+    public void fireTestFinished(Description description) {
+        events.add(n -> n.fireTestFinished(description));
+    }
+
+    boolean started() {
+        return started;
+    }
+
+    boolean failed() {
+        return failed;
+    }
+
+    void replayTo(RunNotifier target) {
+        for (Consumer<RunNotifier> event : events) {
+            event.accept(target);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package tests.runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+// Стабильное разбиение тестов на шарды: один и тот же тест всегда попадает в один и тот же шард
+public class ShardFilter extends Filter {
+    private final int index;
+    private final int total;
+
+    public ShardFilter(int index, int total) {
+        if (total < 1 || index < 0 || index >= total) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + total);
+        }
+        this.index = index;
+        this.total = total;
+    }
+
+    public static int shardOf(Description test, int total) {
+        // String.hashCode фиксирован спецификацией, поэтому шард не зависит от JVM и машины
+        return Math.floorMod(test.getDisplayName().hashCode(), total);
+    }
+
+    @Override
+    public boolean shouldRun(Description description) {
+        if (description.isTest()) {
+            return shardOf(description, total) == index;
+        }
+        for (Description child : description.getChildren()) {
+            if (shouldRun(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String describe() {
+        return "shard " + index + " of " + total;
+    }
+}
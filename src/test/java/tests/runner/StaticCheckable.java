@@ -0,0 +1,13 @@
+package tests.runner;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Тест только читает статическое содержимое, и то же самое проверяет StaticContentTests без браузера.
+// При -Dtest.static=true ParallelParameterized такие тесты в браузере не запускает
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface StaticCheckable {
+}
@@ -0,0 +1,26 @@
+package tests.runner;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+// Убирает из браузерного прогона тесты, которые покрывает статический уровень
+public class StaticCheckableFilter extends Filter {
+
+    @Override
+    public boolean shouldRun(Description description) {
+        if (description.isTest()) {
+            return description.getAnnotation(StaticCheckable.class) == null;
+        }
+        for (Description child : description.getChildren()) {
+            if (shouldRun(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String describe() {
+        return "browser tests not covered by static checks";
+    }
+}
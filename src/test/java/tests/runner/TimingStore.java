@@ -0,0 +1,222 @@
+package tests.runner;
+
+import config.TestConfig;
+import org.junit.runner.Description;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// История длительностей тестов в небольшом JSON-файле (test.timing.file). По ней ParallelParameterized
+// ставит вперёд упавшие в прошлый раз и самые долгие тесты. Файл могут одновременно писать несколько JVM
+// (шарды, соседние сборки): запись идёт под FileChannel.lock и сливается с тем, что успели записать другие
+class TimingStore {
+    // Вес нового замера в скользящем среднем: одна медленная попытка не переворачивает расписание
+    private static final double NEW_SAMPLE_WEIGHT = 0.3;
+
+    // Сколько замеров копим в памяти, прежде чем дописать их в файл, не дожидаясь конца прогона
+    private static final int FLUSH_EVERY = 20;
+
+    // Блокировка файла действует между процессами; внутри JVM второй lock() на тот же файл бросает исключение
+    private static final Object FILE_MONITOR = new Object();
+
+    private final Path file;
+    private final Duration maxAge;
+    private final Map<String, Entry> history;
+    private final Map<String, Double> methodAverages = new HashMap<>();
+    private final Map<String, Entry> pending = new LinkedHashMap<>();
+
+    private TimingStore(Path file, Duration maxAge, Map<String, Entry> history) {
+        this.file = file;
+        this.maxAge = maxAge;
+        this.history = history;
+        Map<String, double[]> sums = new HashMap<>();
+        history.forEach((test, entry) -> {
+            double[] sum = sums.computeIfAbsent(methodKey(test), key -> new double[2]);
+            sum[0] += entry.millis;
+            sum[1]++;
+        });
+        sums.forEach((method, sum) -> methodAverages.put(method, sum[0] / sum[1]));
+    }
+
+    static TimingStore open(Path file) {
+        return open(file, TestConfig.testTimingMaxAge());
+    }
+
+    // maxAge — сколько хранится запись теста, который больше не запускался
+    static TimingStore open(Path file, Duration maxAge) {
+        synchronized (FILE_MONITOR) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+                try {
+                    return new TimingStore(file, maxAge, parse(file, readAll(channel)));
+                } finally {
+                    lock.release();
+                }
+            } catch (NoSuchFileException e) {
+                return new TimingStore(file, maxAge, new TreeMap<>());
+            } catch (IOException e) {
+                System.out.println("Failed to read test timings " + file + ": " + e.getMessage());
+                return new TimingStore(file, maxAge, new TreeMap<>());
+            }
+        }
+    }
+
+    int size() {
+        return history.size();
+    }
+
+    boolean failedLastTime(Description test) {
+        Entry entry = history.get(test.getDisplayName());
+        return entry != null && entry.failed;
+    }
+
+    // Прошлая длительность теста; для новой строки параметров — среднее по тому же методу в других строках
+    long estimateMillis(Description test) {
+        Entry entry = history.get(test.getDisplayName());
+        if (entry != null) {
+            return Math.round(entry.millis);
+        }
+        return Math.round(methodAverages.getOrDefault(methodKey(test.getDisplayName()), 0.0));
+    }
+
+    synchronized void record(Description test, long millis, boolean failed) {
+        pending.put(test.getDisplayName(), new Entry(millis, 1, failed, System.currentTimeMillis()));
+        if (pending.size() >= FLUSH_EVERY) {
+            flush();
+        }
+    }
+
+    // Дописывает накопленные замеры: под блокировкой перечитываем файл и обновляем только свои тесты
+    synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        synchronized (FILE_MONITOR) {
+            try {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+                    FileLock lock = channel.lock();
+                    try {
+                        Map<String, Entry> current = parse(file, readAll(channel));
+                        pending.forEach((test, sample) -> current.merge(test, sample, Entry::update));
+                        // Переименованные и удалённые тесты больше не обновляются: без чистки файл только растёт
+                        long oldest = System.currentTimeMillis() - maxAge.toMillis();
+                        current.values().removeIf(entry -> entry.updated < oldest);
+                        byte[] json = toJson(current).getBytes(StandardCharsets.UTF_8);
+                        channel.truncate(0);
+                        channel.position(0);
+                        ByteBuffer buffer = ByteBuffer.wrap(json);
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                        channel.force(false);
+                    } finally {
+                        lock.release();
+                    }
+                }
+                pending.clear();
+            } catch (IOException e) {
+                System.out.println("Failed to write test timings " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static String readAll(FileChannel channel) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        channel.position(0);
+        while (channel.read(buffer) > 0) {
+            content.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+        return content.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Entry> parse(Path file, String content) {
+        Map<String, Entry> entries = new TreeMap<>();
+        if (content.isBlank()) {
+            return entries;
+        }
+        try {
+            Map<String, Object> json = new Json().toType(content, Json.MAP_TYPE);
+            Object tests = json.get("tests");
+            if (tests instanceof Map) {
+                for (Map.Entry<?, ?> test : ((Map<?, ?>) tests).entrySet()) {
+                    Map<?, ?> value = (Map<?, ?>) test.getValue();
+                    entries.put(String.valueOf(test.getKey()), new Entry(
+                            ((Number) value.get("ms")).doubleValue(),
+                            ((Number) value.get("runs")).intValue(),
+                            Boolean.TRUE.equals(value.get("failed")),
+                            ((Number) value.get("updated")).longValue()));
+                }
+            }
+        } catch (JsonException | ClassCastException | NullPointerException e) {
+            // Испорченный файл не должен ронять прогон: начинаем историю заново
+            System.out.println("Ignoring unreadable test timings " + file + ": " + e.getMessage());
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private static String toJson(Map<String, Entry> entries) {
+        Map<String, Object> tests = new TreeMap<>();
+        entries.forEach((test, entry) -> {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("ms", Math.round(entry.millis * 10) / 10.0);
+            value.put("runs", entry.runs);
+            value.put("failed", entry.failed);
+            value.put("updated", entry.updated);
+            tests.put(test, value);
+        });
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("tests", tests);
+        return new Json().toJson(json);
+    }
+
+    // «метод[строка](класс)» -> «класс#метод»: строки параметров одного метода обычно идут примерно одинаково
+    private static String methodKey(String displayName) {
+        int bracket = displayName.indexOf('[');
+        int paren = displayName.lastIndexOf('(');
+        if (bracket < 0 || paren < bracket) {
+            return displayName;
+        }
+        return displayName.substring(paren) + "#" + displayName.substring(0, bracket);
+    }
+
+    private static final class Entry {
+        final double millis;
+        final int runs;
+        final boolean failed;
+        final long updated;
+
+        Entry(double millis, int runs, boolean failed, long updated) {
+            this.millis = millis;
+            this.runs = runs;
+            this.failed = failed;
+            this.updated = updated;
+        }
+
+        Entry update(Entry sample) {
+            return new Entry(millis + (sample.millis - millis) * NEW_SAMPLE_WEIGHT, runs + 1,
+                    sample.failed, sample.updated);
+        }
+    }
+}